@@ -28,6 +28,64 @@ public enum QuarkEngine {
 	 */
 	public static long TIMESTAMP = -1;
 
+	/**
+	 *  if true, method arguments are deserialized directly from request stream
+	 */
+	public static boolean STREAMING = true;
+
+	/**
+	 *  if true, HTTP request body is read and response is written with non-blocking servlet I/O
+	 */
+	public static boolean NON_BLOCKING = false;
+
+	/**
+	 *  max HTTP request body size in bytes (after decompression), 0 for unlimited
+	 */
+	public static int MAX_BODY = 16 * 1024 * 1024;
+
+	/**
+	 *  non-blocking HTTP request body read timeout in milliseconds, call is limited by its own deadline,
+	 *  0 for no timeout, negative to use container default for whole exchange
+	 */
+	public static long ASYNC_TIMEOUT = 60 * 1000;
+
+	/**
+	 *  max number of calls in a single HTTP or WebSocket batch request, 0 for unlimited
+	 */
+	public static int MAX_BATCH = 64;
+
+	/**
+	 *  max number of pooled instances per Dependent controller, 0 disables pooling
+	 */
+	public static int POOL_SIZE = 16;
+
+	/**
+	 *  if GT 0, batched WebSocket requests are executed in parallel and responses
+	 *  are sent in a single frame, waiting for slow calls up to given milliseconds
+	 */
+	public static long BATCH_DEADLINE = -1;
+
+	/**
+	 *  max number of concurrently running virtual thread controller calls, 0 for unlimited,
+	 *  can be changed at runtime
+	 */
+	public static int VIRTUAL_LIMIT = 10_000;
+
+	/**
+	 *  max milliseconds to wait for a free virtual thread slot, 0 rejects immediately
+	 */
+	public static long VIRTUAL_WAIT = 0;
+
+	/**
+	 *  max number of running tasks over all execution lanes, 0 for unlimited
+	 */
+	public static int LANE_LIMIT = 0;
+
+	/**
+	 *  if true, lanes are scheduled by weight, otherwise by strict priority
+	 */
+	public static boolean LANE_WEIGHTED = false;
+
     /**
      * Internal flag to optimize calls
      */
@@ -37,16 +95,26 @@ public enum QuarkEngine {
      * Alternative to get ManagedExecutorService, required to run async tasks in CDI  
      */
     public static AtomicReference<String> EXECUTOR_JNDI = new AtomicReference<String>("java:jboss/ee/concurrency/executor/default");
+
+    /**
+     * Resolved infrastructure, looked up once
+     */
+    private static final AtomicReference<BeanManager> BEAN_MANAGER = new AtomicReference<>();
+    private static final AtomicReference<ManagedExecutorService> EXECUTOR = new AtomicReference<>();
     
 	public static BeanManager getBeanManager() {
 
+		BeanManager beanManager = BEAN_MANAGER.get();
+		if (Objects.nonNull(beanManager)) return beanManager;
+
 		final CDI<Object> cdi = CDI.current();
 		
 		if (Objects.nonNull(cdi)) {
-			return cdi.getBeanManager();
+			beanManager = cdi.getBeanManager();
+			BEAN_MANAGER.compareAndSet(null, beanManager);
 		}
 		
-		return null;
+		return beanManager;
 	}
 
 	public static <T> T getBean(final Class<T> cls) {
@@ -63,7 +131,7 @@ public enum QuarkEngine {
 	}
 
     public static <T> T of(final Class<T> clazz, final Annotation...annotations) {
-        return (ManagedExecutorService.class.equals(clazz)) ? managedExecutorService(clazz) : CDI.current().select(clazz, annotations).get();
+        return (ManagedExecutorService.class.equals(clazz)) ? clazz.cast(getExecutorService()) : CDI.current().select(clazz, annotations).get();
     }
 
     private static <T> T managedExecutorService(final Class<T> clazz) {
@@ -89,6 +157,11 @@ public enum QuarkEngine {
     }
 
     public static ManagedExecutorService getExecutorService() {
-        return managedExecutorService(ManagedExecutorService.class);
+        ManagedExecutorService executor = EXECUTOR.get();
+        if (Objects.isNull(executor)) {
+            executor = managedExecutorService(ManagedExecutorService.class);
+            if (!EXECUTOR.compareAndSet(null, executor)) executor = EXECUTOR.get();
+        }
+        return executor;
     }
 }
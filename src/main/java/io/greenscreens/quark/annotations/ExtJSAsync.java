@@ -27,4 +27,20 @@ public @interface ExtJSAsync {
 	@Nonbinding
 	boolean virtual() default true;
 
+	/**
+	 * Max execution time in milliseconds, 0 for no limit.
+	 * ExtJSMethod timeout has precedence.
+	 * @return
+	 */
+	@Nonbinding
+	long timeout() default 0;
+
+	/**
+	 * Name of execution lane registered in QuarkLanes.
+	 * If empty or not registered, default async execution is used.
+	 * @return
+	 */
+	@Nonbinding
+	String lane() default "";
+
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.enterprise.util.Nonbinding;
+
+/**
+ * Max number of concurrent calls. On method, limit applies to the method,
+ * on Controller class, limit is shared by all Controller methods.
+ * When limit is reached, call is rejected immediately with E0429.
+ * @see io.greenscreens.quark.async.QuarkBulkhead
+ */
+@Target({ METHOD, TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExtJSBulkhead {
+
+	@Nonbinding
+	int value();
+
+}
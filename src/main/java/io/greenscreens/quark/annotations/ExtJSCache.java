@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.enterprise.util.Nonbinding;
+
+/**
+ * Cache controller method result. Cache key is method and received arguments,
+ * so argument types should implement equals and hashCode.
+ * On cache hit, controller bean is not created nor called.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ METHOD })
+public @interface ExtJSCache {
+
+	enum Scope {
+		/** shared by all callers */
+		GLOBAL,
+		/** per HttpSession */
+		SESSION,
+		/** per WebSocket session */
+		WEBSOCKET
+	}
+
+	/**
+	 * Time to live in seconds
+	 * @return
+	 */
+	@Nonbinding
+	long ttl() default 60;
+
+	/**
+	 * Max number of cached results
+	 * @return
+	 */
+	@Nonbinding
+	int size() default 1000;
+
+	@Nonbinding
+	Scope scope() default Scope.GLOBAL;
+
+}
@@ -24,4 +24,13 @@ public @interface ExtJSMethod {
 	@Nonbinding
 	boolean validate() default false;
 
+	/**
+	 * Max execution time in milliseconds, 0 for no limit.
+	 * On timeout, call is interrupted and E7777 is returned.
+	 * Applies only to async calls, synchronous calls run on container thread.
+	 * @return
+	 */
+	@Nonbinding
+	long timeout() default 0;
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.async;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Lock-free concurrency limit for controller methods and beans.
+ * Initial limit is set from ExtJSBulkhead annotation,
+ * and can be changed at runtime through registry by name.
+ * Limit of 0 or less is unlimited, calls are still counted.
+ */
+@Vetoed
+public final class QuarkBulkhead {
+
+	private static final Map<String, QuarkBulkhead> registry = new ConcurrentHashMap<>();
+
+	private final String name;
+	private final AtomicInteger active = new AtomicInteger();
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	private volatile int limit;
+
+	private QuarkBulkhead(final String name) {
+		super();
+		this.name = name;
+	}
+
+	/**
+	 * Take a permit if available, never blocks
+	 * @return false if limit is reached
+	 */
+	public boolean tryAcquire() {
+
+		final int max = limit;
+
+		if (max <= 0) {
+			active.incrementAndGet();
+		} else {
+			int current;
+			do {
+				current = active.get();
+				if (current >= max) {
+					rejected.increment();
+					return false;
+				}
+			} while (!active.compareAndSet(current, current + 1));
+		}
+
+		accepted.increment();
+		return true;
+	}
+
+	public void release() {
+		active.decrementAndGet();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public void setLimit(final int limit) {
+		this.limit = limit;
+	}
+
+	public int getActive() {
+		return active.get();
+	}
+
+	public long getAccepted() {
+		return accepted.sum();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "QuarkBulkhead [name=" + name + ", limit=" + limit + ", active=" + getActive() + ", accepted=" + getAccepted() + ", rejected=" + getRejected() + "]";
+	}
+
+	/**
+	 * Get or register bulkhead by name
+	 * @param name - bean class name, or method handle name
+	 * @return
+	 */
+	public static QuarkBulkhead of(final String name) {
+		return registry.computeIfAbsent(name, QuarkBulkhead::new);
+	}
+
+	/**
+	 * Register bulkhead with limit from annotation, on redeploy limit is replaced.
+	 * Without limit, bulkhead from previous deployment is removed.
+	 * @param name
+	 * @param limit
+	 * @return null if not limited
+	 */
+	public static QuarkBulkhead of(final String name, final int limit) {
+		if (limit <= 0) {
+			registry.remove(name);
+			return null;
+		}
+		final QuarkBulkhead bulkhead = of(name);
+		bulkhead.setLimit(limit);
+		return bulkhead;
+	}
+
+	/**
+	 * All registered bulkheads, used to expose counters
+	 * @return
+	 */
+	public static Map<String, QuarkBulkhead> all() {
+		return Collections.unmodifiableMap(registry);
+	}
+
+}
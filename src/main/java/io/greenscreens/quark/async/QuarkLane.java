@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.async;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Named execution lane with its own concurrency budget and bounded queue.
+ * Lanes are registered and scheduled by QuarkLanes.
+ * Queue state is guarded by QuarkLanes lock.
+ */
+@Vetoed
+public final class QuarkLane {
+
+	private final String name;
+	private final int concurrency;
+	private final int queueSize;
+	private final int priority;
+	private final int weight;
+
+	private final Queue<Runnable> queue = new ArrayDeque<>();
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	private int active = 0;
+	// smooth weighted round robin state
+	int current = 0;
+
+	QuarkLane(final String name, final int concurrency, final int queueSize, final int priority, final int weight) {
+		super();
+		this.name = name;
+		this.concurrency = concurrency;
+		this.queueSize = queueSize;
+		this.priority = priority;
+		this.weight = Math.max(1, weight);
+	}
+
+	boolean offer(final Runnable task) {
+		if (queueSize > 0 && queue.size() >= queueSize) {
+			rejected.increment();
+			return false;
+		}
+		queue.add(task);
+		accepted.increment();
+		return true;
+	}
+
+	/**
+	 * Has queued task and free budget
+	 * @return
+	 */
+	boolean isReady() {
+		return !queue.isEmpty() && (concurrency <= 0 || active < concurrency);
+	}
+
+	Runnable take() {
+		active++;
+		return queue.poll();
+	}
+
+	void done() {
+		active--;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	public int getPriority() {
+		return priority;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+	public int getActive() {
+		synchronized (QuarkLanes.class) {
+			return active;
+		}
+	}
+
+	public int getQueued() {
+		synchronized (QuarkLanes.class) {
+			return queue.size();
+		}
+	}
+
+	public long getAccepted() {
+		return accepted.sum();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "QuarkLane [name=" + name + ", priority=" + priority + ", weight=" + weight + ", active=" + getActive() + ", queued=" + getQueued() + "]";
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.async;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.greenscreens.quark.QuarkEngine;
+import io.greenscreens.quark.util.QuarkUtil;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Priority lanes for async controllers (ExtJSAsync lane).
+ * Every lane has its own concurrency budget and queue. Lanes share
+ * a global budget (QuarkEngine.LANE_LIMIT), and when it is exhausted,
+ * next task is selected by strict priority or weighted round robin
+ * (QuarkEngine.LANE_WEIGHTED). Tasks are executed in owned virtual threads.
+ *
+ * Client can request another lane through request priority field,
+ * only lanes with same or lower priority than method lane are accepted.
+ */
+@Vetoed
+public enum QuarkLanes {
+;
+
+	private static final Map<String, QuarkLane> lanes = new ConcurrentHashMap<>();
+
+	private static QuarkLane[] ordered = new QuarkLane[0];
+	private static int running = 0;
+
+	/**
+	 * Register execution lane
+	 * @param name
+	 * @param concurrency - max running tasks in lane, 0 for unlimited
+	 * @param queueSize - max waiting tasks in lane, 0 for unlimited
+	 * @param priority - higher is scheduled first
+	 * @param weight - share for weighted scheduling
+	 * @return
+	 */
+	public static QuarkLane register(final String name, final int concurrency, final int queueSize, final int priority, final int weight) {
+		final QuarkLane lane = new QuarkLane(name, concurrency, queueSize, priority, weight);
+		synchronized (QuarkLanes.class) {
+			lanes.put(name, lane);
+			ordered = lanes.values().stream()
+					.sorted((a, b) -> Integer.compare(b.getPriority(), a.getPriority()))
+					.toArray(QuarkLane[]::new);
+		}
+		return lane;
+	}
+
+	public static QuarkLane get(final String name) {
+		return QuarkUtil.isEmpty(name) ? null : lanes.get(name);
+	}
+
+	public static Collection<QuarkLane> all() {
+		return Collections.unmodifiableCollection(lanes.values());
+	}
+
+	/**
+	 * Select lane for a call
+	 * @param name - method lane
+	 * @param requested - lane requested by client, can be null
+	 * @return null if method is not bound to a registered lane
+	 */
+	public static QuarkLane resolve(final String name, final String requested) {
+		final QuarkLane lane = get(name);
+		if (Objects.isNull(lane)) return null;
+		final QuarkLane other = get(requested);
+		if (Objects.nonNull(other) && other.getPriority() <= lane.getPriority()) return other;
+		return lane;
+	}
+
+	/**
+	 * Queue task for execution
+	 * @param lane
+	 * @param name - thread name
+	 * @param task
+	 * @return false if lane queue is full
+	 */
+	public static boolean submit(final QuarkLane lane, final String name, final Runnable task) {
+		synchronized (QuarkLanes.class) {
+			if (!lane.offer(() -> run(lane, name, task))) return false;
+		}
+		dispatch();
+		return true;
+	}
+
+	private static void run(final QuarkLane lane, final String name, final Runnable task) {
+		try {
+			Thread.currentThread().setName(name);
+			task.run();
+		} finally {
+			synchronized (QuarkLanes.class) {
+				lane.done();
+				running--;
+			}
+			dispatch();
+		}
+	}
+
+	/**
+	 * Start queued tasks while global and lane budgets allow
+	 */
+	private static void dispatch() {
+		while (true) {
+			QuarkLane lane = null;
+			Runnable task = null;
+			synchronized (QuarkLanes.class) {
+				if (QuarkEngine.LANE_LIMIT > 0 && running >= QuarkEngine.LANE_LIMIT) return;
+				lane = QuarkEngine.LANE_WEIGHTED ? weighted() : strict();
+				if (Objects.isNull(lane)) return;
+				task = lane.take();
+				running++;
+			}
+			QuarkVirtualExecutor.spawn(lane.getName(), task);
+		}
+	}
+
+	private static QuarkLane strict() {
+		for (QuarkLane lane : ordered) {
+			if (lane.isReady()) return lane;
+		}
+		return null;
+	}
+
+	/**
+	 * Smooth weighted round robin over ready lanes
+	 */
+	private static QuarkLane weighted() {
+		QuarkLane selected = null;
+		int total = 0;
+		for (QuarkLane lane : ordered) {
+			if (!lane.isReady()) continue;
+			lane.current += lane.getWeight();
+			total += lane.getWeight();
+			if (Objects.isNull(selected) || lane.current > selected.current) selected = lane;
+		}
+		if (Objects.nonNull(selected)) selected.current -= total;
+		return selected;
+	}
+
+	/**
+	 * Number of running lane tasks
+	 * @return
+	 */
+	public static int getRunning() {
+		synchronized (QuarkLanes.class) {
+			return running;
+		}
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.async;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.greenscreens.quark.QuarkEngine;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Bounded executor for controllers running in virtual threads (ExtJSAsync virtual=true).
+ * Number of running calls is limited by QuarkEngine.VIRTUAL_LIMIT, when limit is reached
+ * caller waits up to QuarkEngine.VIRTUAL_WAIT milliseconds for a free slot, or call is rejected.
+ * Limit can be changed at runtime, it is applied on next call, running calls are not affected.
+ *
+ * Every started thread is owned by the executor until the call ends,
+ * running calls are interrupted on deadline or on engine termination.
+ */
+@Vetoed
+public enum QuarkVirtualExecutor {
+;
+
+	private static final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+	private static final AtomicInteger waiting = new AtomicInteger();
+	private static final LongAdder started = new LongAdder();
+	private static final LongAdder rejected = new LongAdder();
+	private static final LongAdder waitTime = new LongAdder();
+
+	private static final Permits permits = new Permits();
+
+	// limit currently applied to permits
+	private static volatile int limit = 0;
+
+	/**
+	 * Start task in a new virtual thread
+	 * @param name - thread name
+	 * @param task
+	 * @return false if rejected, task is not executed
+	 */
+	public static boolean execute(final String name, final Runnable task) {
+
+		final Semaphore semaphore = permits();
+		if (Objects.nonNull(semaphore) && !acquire(semaphore)) {
+			rejected.increment();
+			return false;
+		}
+
+		try {
+			spawn(name, () -> run(task, semaphore));
+		} catch (RuntimeException e) {
+			if (Objects.nonNull(semaphore)) semaphore.release();
+			throw e;
+		}
+
+		started.increment();
+		return true;
+	}
+
+	/**
+	 * Start owned virtual thread without limit check, used by execution lanes
+	 * @param name
+	 * @param task
+	 */
+	static void spawn(final String name, final Runnable task) {
+		Thread.ofVirtual().name(name).start(() -> own(task));
+	}
+
+	private static void own(final Runnable task) {
+		final Thread thread = Thread.currentThread();
+		threads.add(thread);
+		try {
+			task.run();
+		} finally {
+			threads.remove(thread);
+		}
+	}
+
+	private static void run(final Runnable task, final Semaphore semaphore) {
+		try {
+			task.run();
+		} finally {
+			if (Objects.nonNull(semaphore)) semaphore.release();
+		}
+	}
+
+	private static boolean acquire(final Semaphore semaphore) {
+
+		if (semaphore.tryAcquire()) return true;
+
+		final long wait = QuarkEngine.VIRTUAL_WAIT;
+		if (wait <= 0) return false;
+
+		final long start = System.nanoTime();
+		waiting.incrementAndGet();
+		try {
+			return semaphore.tryAcquire(wait, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			waiting.decrementAndGet();
+			waitTime.add(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Permits for current limit, null if unlimited
+	 */
+	private static Semaphore permits() {
+		final int max = Math.max(0, QuarkEngine.VIRTUAL_LIMIT);
+		if (max != limit) resize(max);
+		return max > 0 ? permits : null;
+	}
+
+	/**
+	 * Apply new limit by difference, permits held by running calls stay counted,
+	 * so available permits can drop below zero until they are released
+	 */
+	private static synchronized void resize(final int max) {
+		final int delta = max - limit;
+		if (delta > 0) permits.release(delta);
+		if (delta < 0) permits.reduce(-delta);
+		limit = max;
+	}
+
+	/**
+	 * Interrupt all running calls, used on engine unload
+	 */
+	public static void terminate() {
+		threads.forEach(Thread::interrupt);
+	}
+
+	/**
+	 * Number of running calls
+	 * @return
+	 */
+	public static int getInFlight() {
+		return threads.size();
+	}
+
+	/**
+	 * Number of callers waiting for a free slot
+	 * @return
+	 */
+	public static int getWaiting() {
+		return waiting.get();
+	}
+
+	public static long getStarted() {
+		return started.sum();
+	}
+
+	public static long getRejected() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Total time spent waiting for a free slot
+	 * @return nanoseconds
+	 */
+	public static long getWaitTime() {
+		return waitTime.sum();
+	}
+
+	/**
+	 * Running threads, for diagnostics
+	 * @return
+	 */
+	public static Set<Thread> getThreads() {
+		return Collections.unmodifiableSet(threads);
+	}
+
+	private static final class Permits extends Semaphore {
+
+		private static final long serialVersionUID = 1L;
+
+		Permits() {
+			super(0);
+		}
+
+		void reduce(final int reduction) {
+			reducePermits(reduction);
+		}
+	}
+
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.cdi;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.greenscreens.quark.QuarkEngine;
+import io.greenscreens.quark.async.QuarkAsyncContext;
+import io.greenscreens.quark.web.QuarkContext;
+import io.greenscreens.quark.websocket.WebSocketSession;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Scope aware controller instance provider.
+ *
+ * ApplicationScoped and Singleton controllers are resolved once and reused.
+ * Dependent controllers are taken from a bounded pool (QuarkEngine.POOL_SIZE).
+ * Other scopes (RequestScoped, SessionScoped...) are created on every call,
+ * as their contexts are not active on WebSocket or executor threads.
+ *
+ * Controllers with injected request bound values (WebSocket session,
+ * Servlet context, async context, http session), directly or through
+ * injected Dependent beans, are created on every call,
+ * as those values are bound at injection time.
+ *
+ * @param <T>
+ */
+public final class BeanInstanceProvider<T> {
+
+	private enum Strategy { SHARED, POOLED, CREATE }
+
+	private static final Set<Class<?>> REQUEST_BOUND = Set.of(WebSocketSession.class, QuarkContext.class, QuarkAsyncContext.class, HttpSession.class);
+
+	private final Bean<T> bean;
+	// resolved on first call, when bean graph is available
+	private volatile Strategy strategy;
+
+	private volatile IDestructibleBeanInstance<T> shared;
+	private volatile ArrayBlockingQueue<IDestructibleBeanInstance<T>> pool;
+
+	private BeanInstanceProvider(final Bean<T> bean) {
+		super();
+		this.bean = bean;
+	}
+
+	/**
+	 * Get controller instance, must be released after use
+	 * @return
+	 */
+	public IDestructibleBeanInstance<T> get() {
+		return switch (strategy()) {
+			case SHARED -> shared();
+			case POOLED -> pooled();
+			default -> create();
+		};
+	}
+
+	private Strategy strategy() {
+		Strategy value = strategy;
+		if (Objects.isNull(value)) {
+			value = toStrategy(bean);
+			strategy = value;
+		}
+		return value;
+	}
+
+	private IDestructibleBeanInstance<T> shared() {
+		IDestructibleBeanInstance<T> instance = shared;
+		if (Objects.isNull(instance)) {
+			synchronized (this) {
+				instance = shared;
+				if (Objects.isNull(instance)) {
+					instance = new SharedBeanInstance<>(reference(), bean);
+					shared = instance;
+				}
+			}
+		}
+		return instance;
+	}
+
+	private IDestructibleBeanInstance<T> pooled() {
+
+		final ArrayBlockingQueue<IDestructibleBeanInstance<T>> queue = pool();
+		if (Objects.isNull(queue)) return create();
+
+		IDestructibleBeanInstance<T> instance = queue.poll();
+		if (Objects.isNull(instance)) instance = create();
+		if (Objects.isNull(instance)) return null;
+
+		return new PooledBeanInstance<>(instance, queue);
+	}
+
+	private ArrayBlockingQueue<IDestructibleBeanInstance<T>> pool() {
+		ArrayBlockingQueue<IDestructibleBeanInstance<T>> queue = pool;
+		if (Objects.isNull(queue)) {
+			synchronized (this) {
+				queue = pool;
+				if (Objects.isNull(queue) && QuarkEngine.POOL_SIZE > 0) {
+					queue = new ArrayBlockingQueue<>(QuarkEngine.POOL_SIZE);
+					pool = queue;
+				}
+			}
+		}
+		return queue;
+	}
+
+	private IDestructibleBeanInstance<T> create() {
+		final BeanManager beanManager = QuarkEngine.getBeanManager();
+		final CreationalContext<T> creationalContext = beanManager.createCreationalContext(bean);
+		if (Objects.isNull(creationalContext)) return null;
+		final T instance = bean.create(creationalContext);
+		return new DestructibleBeanInstance<>(instance, bean, creationalContext);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T reference() {
+		final BeanManager beanManager = QuarkEngine.getBeanManager();
+		final CreationalContext<T> creationalContext = beanManager.createCreationalContext(bean);
+		return (T) beanManager.getReference(bean, bean.getBeanClass(), creationalContext);
+	}
+
+	private static Strategy toStrategy(final Bean<?> bean) {
+		if (isRequestBound(bean)) return Strategy.CREATE;
+		if (Dependent.class.equals(bean.getScope())) return Strategy.POOLED;
+		if (isShared(bean.getScope())) return Strategy.SHARED;
+		return Strategy.CREATE;
+	}
+
+	private static boolean isShared(final Class<? extends Annotation> scope) {
+		return ApplicationScoped.class.equals(scope) || Singleton.class.equals(scope);
+	}
+
+	private static boolean isRequestBound(final Bean<?> bean) {
+		return isRequestBound(bean, QuarkEngine.getBeanManager(), new HashSet<>());
+	}
+
+	/**
+	 * Check injection points of bean and of injected Dependent beans,
+	 * as Dependent instance is created for, and shared with, its owner.
+	 * Unresolvable injection point is treated as request bound.
+	 */
+	private static boolean isRequestBound(final Bean<?> bean, final BeanManager beanManager, final Set<Bean<?>> visited) {
+
+		if (!visited.add(bean)) return false;
+
+		for (InjectionPoint point : bean.getInjectionPoints()) {
+
+			final Type type = toInjected(point.getType());
+			if (REQUEST_BOUND.contains(toClass(type))) return true;
+			if (Objects.isNull(beanManager) || InjectionPoint.class.equals(toClass(type))) continue;
+
+			final Bean<?> injected = resolve(beanManager, type, point.getQualifiers());
+			if (Objects.isNull(injected)) return true;
+			if (Dependent.class.equals(injected.getScope()) && isRequestBound(injected, beanManager, visited)) return true;
+		}
+
+		return false;
+	}
+
+	private static Bean<?> resolve(final BeanManager beanManager, final Type type, final Set<Annotation> qualifiers) {
+		try {
+			return beanManager.resolve(beanManager.getBeans(type, qualifiers.toArray(new Annotation[0])));
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Type of bean behind Instance or Provider injection point
+	 */
+	private static Type toInjected(final Type type) {
+		if (type instanceof ParameterizedType ptype) {
+			final Class<?> raw = toClass(ptype.getRawType());
+			if (Instance.class.equals(raw) || Provider.class.equals(raw)) return ptype.getActualTypeArguments()[0];
+		}
+		return type;
+	}
+
+	private static Class<?> toClass(final Type type) {
+		if (type instanceof Class<?> clazz) return clazz;
+		if (type instanceof ParameterizedType ptype) return toClass(ptype.getRawType());
+		return null;
+	}
+
+	/**
+	 * Create instance provider for controller bean
+	 * @param <T>
+	 * @param bean
+	 * @return
+	 */
+	public static <T> BeanInstanceProvider<T> create(final Bean<T> bean) {
+		return new BeanInstanceProvider<>(bean);
+	}
+
+	/**
+	 * Shared contextual reference, never destroyed by caller
+	 */
+	private static final class SharedBeanInstance<T> implements IDestructibleBeanInstance<T> {
+
+		private final T instance;
+		private final Bean<T> bean;
+
+		SharedBeanInstance(final T instance, final Bean<T> bean) {
+			this.instance = instance;
+			this.bean = bean;
+		}
+
+		@Override
+		public T getInstance() {
+			return instance;
+		}
+
+		@Override
+		public Class<?> getBeanClass() {
+			return bean.getBeanClass();
+		}
+
+		@Override
+		public Bean<T> getBean() {
+			return bean;
+		}
+
+		@Override
+		public void release() {
+			// shared with other callers
+		}
+	}
+
+	/**
+	 * Single lease of pooled dependent instance, returned to pool on release.
+	 * If pool is full, instance is destroyed.
+	 * New lease is created on every get, so a late release
+	 * of an old lease can not return instance used by another caller.
+	 */
+	private static final class PooledBeanInstance<T> implements IDestructibleBeanInstance<T> {
+
+		private final IDestructibleBeanInstance<T> delegate;
+		private final ArrayBlockingQueue<IDestructibleBeanInstance<T>> queue;
+		private final AtomicBoolean leased = new AtomicBoolean(true);
+
+		PooledBeanInstance(final IDestructibleBeanInstance<T> delegate, final ArrayBlockingQueue<IDestructibleBeanInstance<T>> queue) {
+			this.delegate = delegate;
+			this.queue = queue;
+		}
+
+		@Override
+		public T getInstance() {
+			return delegate.getInstance();
+		}
+
+		@Override
+		public Class<?> getBeanClass() {
+			return delegate.getBeanClass();
+		}
+
+		@Override
+		public Bean<T> getBean() {
+			return delegate.getBean();
+		}
+
+		@Override
+		public void release() {
+			// release only once per lease
+			if (!leased.compareAndSet(true, false)) return;
+			if (!queue.offer(delegate)) delegate.release();
+		}
+	}
+
+}
@@ -6,6 +6,9 @@ package io.greenscreens.quark.ext;
 import java.util.List;
 import java.util.Objects;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
 import jakarta.enterprise.inject.Vetoed;
 
 /**
@@ -21,7 +24,15 @@ public class ExtJSDirectRequest<T> {
 	private String type;
 	private String tid;
 	private long ts;
+	private String priority;
 	private List<T> data;
+
+	// arguments bound to method parameters by streaming decoder, after call is authorized
+	private Object[] args;
+
+	// raw arguments buffered by streaming decoder, bound after call is authorized
+	private TokenBuffer tokens;
+	private int tokensSize;
 	
 	public long getHandle() {
 		return handle;
@@ -55,6 +66,18 @@ public class ExtJSDirectRequest<T> {
 		this.ts = ts;
 	}
 
+	/**
+	 * Optional execution lane requested by client
+	 * @return
+	 */
+	public String getPriority() {
+		return priority;
+	}
+
+	public void setPriority(final String priority) {
+		this.priority = priority;
+	}
+
 	public final List<T> getData() {
 		return data;
 	}
@@ -63,6 +86,38 @@ public class ExtJSDirectRequest<T> {
 		this.data = data;
 	}
 
+	@JsonIgnore
+	public final Object[] getArgs() {
+		return args;
+	}
+
+	@JsonIgnore
+	public final void setArgs(final Object[] args) {
+		this.args = args;
+	}
+
+	@JsonIgnore
+	public final TokenBuffer getTokens() {
+		return tokens;
+	}
+
+	@JsonIgnore
+	public final void setTokens(final TokenBuffer tokens, final int size) {
+		this.tokens = tokens;
+		this.tokensSize = size;
+	}
+
+	/**
+	 * Number of received arguments, either bound, buffered or as tree
+	 * @return
+	 */
+	@JsonIgnore
+	public final int getSize() {
+		if (Objects.nonNull(args)) return args.length;
+		if (Objects.nonNull(tokens)) return tokensSize;
+		return Objects.isNull(data) ? 0 : data.size();
+	}
+
 	public final T getDataByIndex(final int index) {
 
 		T value = null;
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import io.greenscreens.quark.security.IQuarkKey;
+import io.greenscreens.quark.security.QuarkSecurity;
+import io.greenscreens.quark.stream.QuarkDictionary;
+import io.greenscreens.quark.stream.QuarkGzipPrefix;
+import io.greenscreens.quark.stream.QuarkStream;
+import io.greenscreens.quark.util.QuarkJson;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Pre-serialized API descriptor, cached per path set.
+ * Only challenge signature differs between requests,
+ * so JSON is split around signature, which is placed last,
+ * and everything before it is compressed only once.
+ * Rebuilt when server keys or compression dictionary change.
+ */
+@Vetoed
+public final class QuarkApiDescriptor {
+
+	private static final Map<String, QuarkApiDescriptor> cache = new ConcurrentHashMap<>();
+
+	private final String keyEnc;
+	private final String keyVer;
+	private final byte[] keyEncBytes;
+	private final byte[] keyVerBytes;
+	private final int dictionary;
+
+	private final byte[] head;
+	private final byte[] tail;
+	private final QuarkGzipPrefix zip;
+	private final ObjectNode node;
+	private final String hash;
+
+	private QuarkApiDescriptor(final ArrayNode api) throws IOException {
+		super();
+
+		final String placeholder = UUID.randomUUID().toString();
+		final ObjectNode root = QuarkBuilder.buildRoot(api, placeholder);
+		root.remove(QuarkBuilder.SIGNATURE);
+		root.put(QuarkBuilder.SIGNATURE, placeholder);
+
+		final String json = QuarkJson.stringify(root);
+		final int idx = json.indexOf(placeholder);
+
+		this.keyEnc = root.get(QuarkBuilder.KEY_ENC).asText();
+		this.keyVer = root.get(QuarkBuilder.KEY_VER).asText();
+		this.keyEncBytes = Base64.getMimeDecoder().decode(keyEnc);
+		this.keyVerBytes = Base64.getMimeDecoder().decode(keyVer);
+		this.dictionary = dictionary();
+
+		this.head = json.substring(0, idx).getBytes(StandardCharsets.UTF_8);
+		this.tail = json.substring(idx + placeholder.length()).getBytes(StandardCharsets.UTF_8);
+		this.zip = new QuarkGzipPrefix(head, Deflater.BEST_COMPRESSION);
+		this.node = toRaw(root);
+		this.hash = hash();
+	}
+
+	/**
+	 * Get cached descriptor for path set, all services if empty
+	 * @param uri
+	 * @return
+	 * @throws IOException
+	 */
+	public static QuarkApiDescriptor get(final Collection<String> uri) throws IOException {
+
+		final String key = Objects.isNull(uri) ? "" : String.join(",", uri);
+
+		QuarkApiDescriptor descriptor = cache.get(key);
+		if (Objects.isNull(descriptor) || descriptor.isStale()) {
+			descriptor = new QuarkApiDescriptor(QuarkBuilder.build(uri));
+			cache.put(key, descriptor);
+		}
+
+		return descriptor;
+	}
+
+	/**
+	 * Weak ETag of API body for given client,
+	 * response is reusable only with the same challenge and client key
+	 * @param challenge
+	 * @param publicKey
+	 * @return
+	 */
+	public String etag(final String challenge, final String publicKey) {
+		return String.format("W/\"%s-%s\"", hash, digest(String.valueOf(challenge) + '|' + String.valueOf(publicKey)));
+	}
+
+	/**
+	 * Plain JSON descriptor with signature
+	 * @param signature
+	 * @return
+	 */
+	public byte[] toJson(final String signature) {
+		final byte[] sig = toBytes(signature);
+		final byte[] data = new byte[head.length + sig.length + tail.length];
+		System.arraycopy(head, 0, data, 0, head.length);
+		System.arraycopy(sig, 0, data, head.length, sig.length);
+		System.arraycopy(tail, 0, data, head.length + sig.length, tail.length);
+		return data;
+	}
+
+	/**
+	 * Quark data stream of descriptor with signature
+	 * @param signature
+	 * @param key - if null, data is not encrypted
+	 * @param compress - use precompressed descriptor
+	 * @return
+	 * @throws IOException
+	 */
+	public ByteBuffer toStream(final String signature, final IQuarkKey key, final boolean compress) throws IOException {
+
+		final byte[] keys = QuarkStream.toKeys(keyEncBytes, keyVerBytes, Base64.getDecoder().decode(toBytes(signature)));
+
+		if (compress) {
+			final byte[] sig = toBytes(signature);
+			final byte[] suffix = new byte[sig.length + tail.length];
+			System.arraycopy(sig, 0, suffix, 0, sig.length);
+			System.arraycopy(tail, 0, suffix, sig.length, tail.length);
+			return QuarkStream.wrapCompressed(zip.compress(suffix, 0, suffix.length), key, keys);
+		}
+
+		return QuarkStream.wrap(ByteBuffer.wrap(toJson(signature)), key, keys);
+	}
+
+	/**
+	 * Descriptor node with pre-serialized API, used by WebSocket
+	 * @param signature
+	 * @return
+	 */
+	public ObjectNode toNode(final String signature) {
+		final ObjectNode copy = node.deepCopy();
+		copy.put(QuarkBuilder.SIGNATURE, signature);
+		return copy;
+	}
+
+	private boolean isStale() {
+		return !keyEnc.equals(QuarkSecurity.getPublic())
+				|| !keyVer.equals(QuarkSecurity.getVerifier())
+				|| dictionary != dictionary();
+	}
+
+	private String hash() {
+		final CRC32 crc = new CRC32();
+		crc.update(head);
+		crc.update(tail);
+		return Long.toHexString(crc.getValue()) + Integer.toHexString(head.length + tail.length);
+	}
+
+	private static int dictionary() {
+		final QuarkDictionary current = QuarkDictionary.ENABLED ? QuarkDictionary.current() : null;
+		return Objects.nonNull(current) ? current.id() : 0;
+	}
+
+	/**
+	 * Copy of root with API as raw JSON value
+	 */
+	private static ObjectNode toRaw(final ObjectNode root) throws IOException {
+		final ObjectNode copy = JsonNodeFactory.instance.objectNode();
+		for (Map.Entry<String, JsonNode> entry : root.properties()) {
+			if ("api".equals(entry.getKey())) {
+				copy.putRawValue(entry.getKey(), new RawValue(QuarkJson.stringify(entry.getValue())));
+			} else {
+				copy.set(entry.getKey(), entry.getValue());
+			}
+		}
+		return copy;
+	}
+
+	private static byte[] toBytes(final String signature) {
+		return Objects.isNull(signature) ? new byte[0] : signature.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String digest(final String value) {
+		try {
+			final MessageDigest md = MessageDigest.getInstance("SHA-256");
+			final byte[] data = md.digest(value.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(data).substring(0, 22);
+		} catch (NoSuchAlgorithmException e) {
+			return Integer.toHexString(value.hashCode());
+		}
+	}
+
+}
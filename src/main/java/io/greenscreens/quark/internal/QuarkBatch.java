@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+
+import io.greenscreens.quark.ext.ExtJSDirectResponse;
+import io.greenscreens.quark.websocket.WebSocketSession;
+import io.greenscreens.quark.websocket.data.IWebSocketResponse;
+import io.greenscreens.quark.websocket.data.WebSocketResponse;
+
+/**
+ * Collector for responses of a WebSocket request batch executed in parallel.
+ * Responses are sent in a single frame when all calls are done,
+ * or when flush deadline expires. Responses received after deadline
+ * are sent on their own.
+ */
+final class QuarkBatch {
+
+	private final WebSocketSession session;
+	private final int expected;
+	private final List<ExtJSDirectResponse<?>> results;
+
+	private int received = 0;
+	private boolean flushed = false;
+	private ScheduledFuture<?> timer;
+
+	QuarkBatch(final WebSocketSession session, final int expected) {
+		super();
+		this.session = session;
+		this.expected = expected;
+		this.results = new ArrayList<>(expected);
+	}
+
+	/**
+	 * Start flush deadline timer
+	 * @param deadline - in milliseconds
+	 */
+	synchronized void start(final long deadline) {
+		if (flushed) return;
+		timer = QuarkScheduler.schedule(this::flush, deadline);
+	}
+
+	/**
+	 * Add call result to the batch
+	 * @param result
+	 */
+	void offer(final ExtJSDirectResponse<?> result) {
+
+		List<ExtJSDirectResponse<?>> list = null;
+
+		synchronized (this) {
+			received++;
+			if (flushed) {
+				list = List.of(result);
+			} else {
+				results.add(result);
+				if (received >= expected) {
+					list = close();
+				}
+			}
+		}
+
+		send(list);
+	}
+
+	/**
+	 * Close batch on deadline, collected results are sent
+	 * from virtual thread, not from timer thread
+	 */
+	void flush() {
+		List<ExtJSDirectResponse<?>> list = null;
+		synchronized (this) {
+			if (flushed) return;
+			list = close();
+		}
+		final List<ExtJSDirectResponse<?>> results = list;
+		QuarkScheduler.offload("quark-batch-flush", () -> send(results));
+	}
+
+	private List<ExtJSDirectResponse<?>> close() {
+		flushed = true;
+		if (Objects.nonNull(timer)) timer.cancel(false);
+		return results;
+	}
+
+	private void send(final List<ExtJSDirectResponse<?>> list) {
+		if (Objects.isNull(list) || list.isEmpty()) return;
+		final IWebSocketResponse wsResponse = WebSocketResponse.asData(list);
+		session.sendResponse(wsResponse, true);
+	}
+
+}
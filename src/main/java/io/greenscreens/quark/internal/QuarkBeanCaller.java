@@ -3,11 +3,14 @@
  */
 package io.greenscreens.quark.internal;
 
+import java.io.IOException;
 import java.lang.ScopedValue.Carrier;
-import java.lang.invoke.MethodHandle;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +18,10 @@ import org.slf4j.LoggerFactory;
 import io.greenscreens.quark.QuarkEngine;
 import io.greenscreens.quark.QuarkProducer;
 import io.greenscreens.quark.async.QuarkAsyncContext;
+import io.greenscreens.quark.async.QuarkBulkhead;
+import io.greenscreens.quark.async.QuarkLane;
+import io.greenscreens.quark.async.QuarkLanes;
+import io.greenscreens.quark.async.QuarkVirtualExecutor;
 import io.greenscreens.quark.cdi.IDestructibleBeanInstance;
 import io.greenscreens.quark.ext.ExtJSResponse;
 import io.greenscreens.quark.reflection.IQuarkHandle;
@@ -41,6 +48,14 @@ public class QuarkBeanCaller implements Runnable {
 
     private AsyncContext context = null;
     private IDestructibleBeanInstance<?> di = null;
+    private QuarkResultCache cache = null;
+    private final AtomicBoolean permits = new AtomicBoolean();
+    private final AtomicBoolean done = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private boolean expired = false;
+
+    private Thread worker = null;
+    private ScheduledFuture<?> deadline = null;
 
     public QuarkBeanCaller(final QuarkHandler handler, final IQuarkHandle handle, final Object[] params) {
         super();
@@ -52,18 +67,32 @@ public class QuarkBeanCaller implements Runnable {
     }
 
     public void call() {
-        if (initialize()) {            
+        if (fromCache()) return;
+        if (!acquire()) {
+            handler.send(QuarkHandlerUtil.getError(QuarkErrors.E0429));
+            return;
+        }
+        if (initialize()) {
             if (isAsync) {
+                schedule();
                 runAsync();
             } else {
                 run();
             }
+        } else {
+            release();
         }
     }
 
     private void runAsync() {
+        final QuarkLane lane = QuarkLanes.resolve(beanHandle.lane(), priority());
+        if (Objects.nonNull(lane)) {
+            if (!QuarkLanes.submit(lane, beanHandle.toString(), this)) reject();
+            return;
+        }
+
         if (beanHandle.isVirtual()) {
-            Thread.ofVirtual().name(beanHandle.toString()).start(this);
+            if (!QuarkVirtualExecutor.execute(beanHandle.toString(), this)) reject();
             return;
         } 
 
@@ -72,15 +101,20 @@ public class QuarkBeanCaller implements Runnable {
         CompletableFuture<?> future = null;
         
         final ManagedExecutorService executor = QuarkEngine.of(ManagedExecutorService.class);
-        if (Objects.nonNull(executor)) {
-                //executor.submit(this);
-                future = executor.supplyAsync(() ->  {
-                    caller.run();
-                    return true;
-                });
-        } else {
-                // throws "Unable to access CDI"
-                future = CompletableFuture.runAsync(caller);
+        try {
+            if (Objects.nonNull(executor)) {
+                    //executor.submit(this);
+                    future = executor.supplyAsync(() ->  {
+                        caller.run();
+                        return true;
+                    });
+            } else {
+                    // throws "Unable to access CDI"
+                    future = CompletableFuture.runAsync(caller);
+            }
+        } catch (RejectedExecutionException e) {
+            reject();
+            return;
         }
         
         future.handle((r, e)-> {
@@ -88,8 +122,6 @@ public class QuarkBeanCaller implements Runnable {
                 final String msg = QuarkUtil.toMessage(e);
                     LOG.error(msg);
             }
-            caller.release(di);
-            caller.release(context);
             return r;
         });
     }
@@ -97,13 +129,169 @@ public class QuarkBeanCaller implements Runnable {
     @Override
     public void run() {
         try {
-            handler.send(call(di));
+            if (!enter()) return;
+            final ExtJSResponse response = call(di);
+            if (finish()) handler.send(response);
         } catch (Throwable e) {
-            QuarkUtil.printError(e, LOG);
-            handler.send(e);
+            if (finish()) {
+                QuarkUtil.printError(e, LOG);
+                handler.send(e);
+            }
         } finally {
+            leave();
+            release();
             release(di);
+            complete();
+        }
+    }
+
+    /**
+     * Execution lane requested by client
+     */
+    private String priority() {
+        return Optional.ofNullable(handler.getRequest()).map(r -> r.getPriority()).orElse(null);
+    }
+
+    /**
+     * Virtual thread or lane limit reached, call is not executed
+     */
+    private void reject() {
+        release();
+        if (finish()) handler.send(QuarkHandlerUtil.getError(QuarkErrors.E0429));
+        release(di);
+        complete();
+    }
+
+    /**
+     * Start method deadline timer, if method has execution timeout.
+     * Used only for calls executed on own executors (lane, virtual, managed),
+     * container threads of synchronous calls are never interrupted.
+     */
+    private void schedule() {
+        final long timeout = beanHandle.timeout();
+        if (timeout > 0) deadline = QuarkScheduler.schedule(this::expire, timeout);
+    }
+
+    /**
+     * Called on deadline in timer thread, interrupt running call.
+     * Timeout error is sent and async context completed from virtual thread,
+     * result of interrupted call is discarded.
+     */
+    private void expire() {
+        synchronized (this) {
+            if (!done.compareAndSet(false, true)) return;
+            expired = true;
+            if (Objects.nonNull(worker)) worker.interrupt();
+        }
+        QuarkScheduler.offload("quark-timeout", () -> {
+            LOG.warn("Call timeout: {}", beanHandle);
+            handler.send(QuarkHandlerUtil.getError(QuarkErrors.E7777));
             release(context);
+        });
+    }
+
+    /**
+     * Complete async context, unless deadline passed,
+     * then it is completed after timeout response is sent
+     */
+    private void complete() {
+        synchronized (this) {
+            if (expired) return;
+        }
+        release(context);
+    }
+
+    /**
+     * Register current thread as call executor
+     * @return false if deadline already passed
+     */
+    private synchronized boolean enter() {
+        if (done.get()) return false;
+        worker = Thread.currentThread();
+        return true;
+    }
+
+    /**
+     * Mark call as completed
+     * @return false if deadline already passed and result must be discarded
+     */
+    private boolean finish() {
+        if (!done.compareAndSet(false, true)) return false;
+        if (Objects.nonNull(deadline)) deadline.cancel(false);
+        return true;
+    }
+
+    /**
+     * Unregister call executor, waits for deadline interrupt if in progress,
+     * and clears interrupt flag as thread might be pooled
+     */
+    private void leave() {
+        synchronized (this) {
+            if (worker != Thread.currentThread()) return;
+            worker = null;
+        }
+        Thread.interrupted();
+    }
+
+    /**
+     * Take method and bean concurrency permits, never blocks
+     * @return false if any limit is reached
+     */
+    private boolean acquire() {
+        final QuarkBulkhead method = beanHandle.bulkhead();
+        final QuarkBulkhead bean = beanHandle.beanBulkhead();
+        if (Objects.nonNull(method) && !method.tryAcquire()) return false;
+        if (Objects.nonNull(bean) && !bean.tryAcquire()) {
+            if (Objects.nonNull(method)) method.release();
+            return false;
+        }
+        permits.set(true);
+        return true;
+    }
+
+    /**
+     * Return concurrency permits, only once per call
+     */
+    private void release() {
+        if (!permits.compareAndSet(true, false)) return;
+        Optional.ofNullable(beanHandle.bulkhead()).ifPresent(QuarkBulkhead::release);
+        Optional.ofNullable(beanHandle.beanBulkhead()).ifPresent(QuarkBulkhead::release);
+    }
+
+    /**
+     * Serve cached result without creating and calling controller bean
+     * @return true if served from cache
+     */
+    private boolean fromCache() {
+        try {
+            if (!QuarkResultCache.isCacheable(params)) return false;
+            cache = QuarkResultCache.of(handler, beanHandle);
+            if (Objects.isNull(cache)) return false;
+            final QuarkCachedResponse response = cache.get(params);
+            if (Objects.isNull(response)) return false;
+            handler.send(response);
+            return true;
+        } catch (Exception e) {
+            QuarkUtil.printError(e, LOG);
+            cache = null;
+            return false;
+        }
+    }
+
+    /**
+     * Store serialized successful result into method cache
+     * @param response
+     * @return
+     */
+    private ExtJSResponse toCache(final ExtJSResponse response) {
+        if (Objects.isNull(cache) || Objects.isNull(response) || !response.isSuccess()) return response;
+        try {
+            final QuarkCachedResponse cached = new QuarkCachedResponse(response);
+            cache.put(params, cached);
+            return cached;
+        } catch (IOException e) {
+            QuarkUtil.printError(e, LOG);
+            return response;
         }
     }
 
@@ -116,6 +304,7 @@ public class QuarkBeanCaller implements Runnable {
             QuarkUtil.printError(e, LOG);
             handler.send(e);
             di = null;
+            release();
             release(context);
         } finally {
             detach();
@@ -154,10 +343,6 @@ public class QuarkBeanCaller implements Runnable {
         return handler.isSupportAsync() && beanHandle.isAsync();
     }
 
-    private MethodHandle methodHandle() throws NoSuchMethodException, IllegalAccessException {
-        return beanHandle.methodHandle();
-    }
-
     /**
      * Safe controller bean destruction
      * 
@@ -167,8 +352,16 @@ public class QuarkBeanCaller implements Runnable {
         Optional.ofNullable(bean).ifPresent(b -> b.release());
     }
 
+    /**
+     * Complete async context once, response might have already completed it
+     */
     private void release(final AsyncContext ctx) {
-        Optional.ofNullable(ctx).ifPresent(c -> c.complete());
+        if (Objects.isNull(ctx) || !completed.compareAndSet(false, true)) return;
+        try {
+            ctx.complete();
+        } catch (IllegalStateException e) {
+            LOG.trace("Async context already completed: {}", beanHandle);
+        }
     }
 
     /**
@@ -182,10 +375,10 @@ public class QuarkBeanCaller implements Runnable {
     private ExtJSResponse call(final IDestructibleBeanInstance<?> bean) throws NoSuchMethodException, Throwable {
         final Object beanInstance = bean.getInstance();
         QuarkValidator.validateParameters(beanHandle, beanInstance, params);
-        final Object obj = methodHandle().invoke(beanInstance, params);
+        final Object obj = beanHandle.invoker().invoke(beanInstance, params);
         if (asAsync())
             return null;
-        return QuarkHandlerUtil.toResponse(obj, beanHandle);
+        return toCache(QuarkHandlerUtil.toResponse(obj, beanHandle));
     }
 
     /**
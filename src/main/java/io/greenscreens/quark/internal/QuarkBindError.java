@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.io.IOException;
+
+/**
+ * Placeholder for an argument which failed streaming binding.
+ * Error is raised when method is called, so only that call fails,
+ * not the whole message or batch.
+ */
+final class QuarkBindError {
+
+	private final IOException error;
+
+	QuarkBindError(final IOException error) {
+		super();
+		this.error = error;
+	}
+
+	static void check(final Object[] args) throws IOException {
+		for (Object arg : args) {
+			if (arg instanceof QuarkBindError bind) throw bind.error;
+		}
+	}
+
+}
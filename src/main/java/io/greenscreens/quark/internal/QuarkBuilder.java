@@ -3,12 +3,16 @@
  */
 package io.greenscreens.quark.internal;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -17,10 +21,16 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.greenscreens.quark.ext.ExtJSDirectResponse;
+import io.greenscreens.quark.ext.ExtJSObjectResponse;
+import io.greenscreens.quark.ext.ExtJSResponse;
+import io.greenscreens.quark.ext.ExtJSResponseList;
 import io.greenscreens.quark.reflection.IQuarkBean;
 import io.greenscreens.quark.reflection.internal.QuarkMapper;
 import io.greenscreens.quark.security.QuarkSecurity;
+import io.greenscreens.quark.stream.QuarkDictionary;
 import io.greenscreens.quark.util.QuarkJson;
+import io.greenscreens.quark.websocket.data.WebSocketResponse;
 import jakarta.enterprise.inject.spi.Bean;
 
 /**
@@ -34,6 +44,8 @@ public enum QuarkBuilder {
     public static final String KEY_ENC = "keyEnc";
     public static final String KEY_VER = "keyVer";      
     public static final String SIGNATURE = "signature";
+
+    private static final List<Class<?>> ENVELOPES = List.of(ExtJSDirectResponse.class, ExtJSResponse.class, ExtJSObjectResponse.class, ExtJSResponseList.class, WebSocketResponse.class);
     
     /**
      * Create API response object
@@ -42,6 +54,16 @@ public enum QuarkBuilder {
      * @param challenge
      */
     public static ObjectNode buildAPI(final ArrayNode api, final String challenge) {
+        return buildRoot(api, QuarkSecurity.signApiKey(challenge));
+    }
+
+    /**
+     * Create API response object with already signed challenge
+     * 
+     * @param api
+     * @param signature
+     */
+    static ObjectNode buildRoot(final ArrayNode api, final String signature) {
 
         final ObjectNode root = JsonNodeFactory.instance.objectNode();
     
@@ -49,11 +71,17 @@ public enum QuarkBuilder {
 
         final String keyEnc = QuarkSecurity.getPublic();
         final String keyVer = QuarkSecurity.getVerifier();
-        final String signature = QuarkSecurity.signApiKey(challenge);
 
         root.put(KEY_ENC, keyEnc);
         root.put(KEY_VER, keyVer);      
         root.put(SIGNATURE, signature);
+
+        if (Objects.nonNull(api) && QuarkDictionary.ENABLED) {
+            final QuarkDictionary dictionary = dictionary();
+            final ObjectNode dictNode = root.putObject("dictionary");
+            dictNode.put("id", Integer.toUnsignedLong(dictionary.id()));
+            dictNode.put("data", dictionary.toBase64());
+        }
         
         return root;
 
@@ -96,6 +124,65 @@ public enum QuarkBuilder {
 
     }
     
+    /**
+     * Preset compression dictionary, initially built from API metadata
+     * 
+     * @return
+     */
+    public static QuarkDictionary dictionary() {
+        final QuarkDictionary dictionary = QuarkDictionary.current();
+        return Objects.nonNull(dictionary) ? dictionary : QuarkDictionary.publish(names());
+    }
+
+    /**
+     * Field names from response envelopes, 
+     * registered actions, methods and their return types
+     * 
+     * @return
+     */
+    static Collection<String> names() {
+
+        final Set<String> names = new LinkedHashSet<>();
+
+        ENVELOPES.forEach(type -> names.addAll(QuarkJson.properties(type)));
+
+        QuarkMapper.beans().forEach(h -> {
+            names.add(h.extAction().namespace());
+            names.add(h.extAction().action());
+            h.handles().forEach(bh -> {
+                names.add(bh.name());
+                collect(names, bh.method().getGenericReturnType(), 0);
+            });
+        });
+
+        return names;
+    }
+
+    /**
+     * Collect property names of returned type and its type arguments
+     */
+    private static void collect(final Set<String> names, final Type type, final int depth) {
+
+        if (depth > 2) return;
+
+        if (type instanceof ParameterizedType ptype) {
+            collect(names, ptype.getRawType(), depth);
+            for (Type arg : ptype.getActualTypeArguments()) {
+                collect(names, arg, depth + 1);
+            }
+            return;
+        }
+
+        if (!(type instanceof Class<?> clazz)) return;
+        if (clazz.isArray()) {
+            collect(names, clazz.getComponentType(), depth);
+            return;
+        }
+
+        if (clazz.isPrimitive() || clazz.isEnum() || clazz.getName().startsWith("java.")) return;
+        names.addAll(QuarkJson.properties(clazz));
+    }
+    
     /**
      * List of registered service paths
      * @return
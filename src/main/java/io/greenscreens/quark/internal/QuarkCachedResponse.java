@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import io.greenscreens.quark.ext.ExtJSResponse;
+import io.greenscreens.quark.util.QuarkJson;
+
+/**
+ * Controller response serialized once, written as raw JSON on every use.
+ * Encoded UTF-8 bytes are cached by SerializedString.
+ */
+final class QuarkCachedResponse extends ExtJSResponse implements JsonSerializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient SerializedString json;
+
+	QuarkCachedResponse(final ExtJSResponse response) throws IOException {
+		super(true);
+		this.json = new SerializedString(QuarkJson.stringify(response));
+		this.json.asUnquotedUTF8();
+	}
+
+	@Override
+	public void serialize(final JsonGenerator gen, final SerializerProvider serializers) throws IOException {
+		gen.writeRawValue(json);
+	}
+
+	@Override
+	public void serializeWithType(final JsonGenerator gen, final SerializerProvider serializers, final TypeSerializer typeSer) throws IOException {
+		serialize(gen, serializers);
+	}
+
+}
@@ -20,6 +20,8 @@ public enum QuarkConstants {
     public static final String QUARK_PATH        	 = "io.greenscreens.quark.path";
     public static final String QUARK_CHALLENGE		 = "io.greenscreens.quark.challenge";
     public static final String QUARK_COMPRESSION 	 = "io.greenscreens.quark.compression";
+    public static final String QUARK_CODEC 	 	 	 = "io.greenscreens.quark.codec";
+    public static final String QUARK_DICTIONARY 	 = "io.greenscreens.quark.dictionary";
     public static final String QUARK_SUBPROTOCOL 	 = "quark";
     
     public static final String MESSAGE_TYPE 		 = "ws";
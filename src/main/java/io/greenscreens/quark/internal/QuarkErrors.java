@@ -11,6 +11,7 @@ public enum QuarkErrors {
 	E0000("E0000", "Invalid encryption data"), 
 	E0001("E0001", "Requested Service not found"),
 	E0002("E0002", "Incomming parameters are invalid"),
+	E0429("E0429", "Too many requests! Access temporary denied."),
 	
 	E7777("E7777", "Request timeout!"),
 	E8888("E8888", "Action disabled!"),
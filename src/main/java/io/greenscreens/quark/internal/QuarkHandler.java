@@ -5,7 +5,6 @@ package io.greenscreens.quark.internal;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -13,9 +12,13 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import io.greenscreens.quark.QuarkEngine;
+import io.greenscreens.quark.async.QuarkVirtualExecutor;
 import io.greenscreens.quark.ext.ExtJSDirectRequest;
 import io.greenscreens.quark.ext.ExtJSDirectResponse;
 import io.greenscreens.quark.ext.ExtJSResponse;
@@ -23,6 +26,9 @@ import io.greenscreens.quark.reflection.IQuarkHandle;
 import io.greenscreens.quark.reflection.internal.QuarkMapper;
 import io.greenscreens.quark.security.IQuarkKey;
 import io.greenscreens.quark.security.QuarkSecurity;
+import io.greenscreens.quark.stream.IQuarkCodec;
+import io.greenscreens.quark.stream.QuarkCodecs;
+import io.greenscreens.quark.stream.QuarkDictionary;
 import io.greenscreens.quark.stream.QuarkStream;
 import io.greenscreens.quark.util.QuarkJson;
 import io.greenscreens.quark.util.QuarkUtil;
@@ -36,7 +42,6 @@ import io.greenscreens.quark.websocket.data.IWebSocketResponse;
 import io.greenscreens.quark.websocket.data.WebSocketInstruction;
 import io.greenscreens.quark.websocket.data.WebSocketResponse;
 import jakarta.enterprise.inject.Vetoed;
-import jakarta.enterprise.inject.spi.AnnotatedParameter;
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.http.HttpServletRequest;
@@ -63,13 +68,27 @@ public class QuarkHandler {
 	private boolean compress = false;
 	private boolean sent = false;
 
+	private IQuarkCodec codec;
+	private QuarkDictionary dictionary;
+
 	private IQuarkKey quarkKey;
+	private QuarkBatch batch;
+	private QuarkHttpBatch httpBatch;
+	private boolean batched = false;
+
+	private ByteBuffer body;
+	private TokenBuffer tokens;
 	
 	private ExtJSDirectRequest<JsonNode> request;
 	public ExtJSResponse response;
 
 	public QuarkHandler(final WebSocketSession wsSession, final ExtJSDirectRequest<JsonNode> data, final String uri) {
+		this(wsSession, data, uri, null);
+	}
+
+	QuarkHandler(final WebSocketSession wsSession, final ExtJSDirectRequest<JsonNode> data, final String uri, final QuarkBatch batch) {
 		super();
+		this.batch = batch;
 		this.uri = uri;
 		this.wsSession = wsSession;
 		this.request = data;
@@ -82,16 +101,22 @@ public class QuarkHandler {
 	}
 
 	public QuarkHandler(final HttpServletRequest request, final HttpServletResponse response, final ExtJSDirectRequest<JsonNode> data, final String uri) {
+		this(request, response, data, uri, null);
+	}
+
+	QuarkHandler(final HttpServletRequest request, final HttpServletResponse response, final ExtJSDirectRequest<JsonNode> data, final String uri, final QuarkHttpBatch batch) {
 		super();
 		this.uri = uri;
 		this.wsSession = null;
+		this.httpBatch = batch;
 		this.request = data;
 		this.httpRequest = request;
 		this.httpResponse = response;
-		this.supportAsync = request.isAsyncSupported();
+		// multi-call is already running in its own thread, response is shared
+		this.supportAsync = Objects.isNull(batch) && request.isAsyncSupported();
 		this.ctx = request.getServletContext();
 		this.requireSession = isSessionRequired();
-		this.httpResponse.setContentType("application/json");
+		if (Objects.isNull(batch)) this.httpResponse.setContentType("application/json");
 		this.quarkKey = getAes();
 	}
 		
@@ -158,6 +183,7 @@ public class QuarkHandler {
 	public void call() {
 		try {
 			prepare();
+			if (batched) return;
 			if (doProcess()) {
 				send();
 			}
@@ -170,16 +196,39 @@ public class QuarkHandler {
 		}
 	}
 	
+	/**
+	 * Processing with body already read in non-blocking mode,
+	 * pooled body is released by handler
+	 * @param body
+	 */
+	void call(final ByteBuffer body) {
+		this.body = body;
+		call();
+	}
+
+	/**
+	 * Processing with JSON body already tokenized in non-blocking mode
+	 * @param tokens
+	 */
+	void call(final TokenBuffer tokens) {
+		this.tokens = tokens;
+		call();
+	}
+
 	/**
 	 * Help GC to release resources
 	 */
 	private void cleanup() {
 		ctx = null;
 		wsSession = null;
+		batch = null;
+		httpBatch = null;
 		httpRequest = null;
 		httpResponse = null;
 		request = null;
 		response = null;
+		body = null;
+		tokens = null;
 	}
 	
 	/**
@@ -188,18 +237,20 @@ public class QuarkHandler {
 	 */
 	private void prepare() throws IOException {
 		
+		if (Objects.isNull(wsSession)) {
+			prepareHTTP();
+		} else {
+			prepareWS();
+		}
+
+		if (batched) return;
+
 		if (QuarkEngine.TIMESTAMP > 0) {
 			final long diff = QuarkUtil.timediff(request.getTs());
 			if (diff > QuarkEngine.TIMESTAMP) {
 				throw new IOException("Request timeout");
 			}
 		}
-
-		if (Objects.isNull(wsSession)) {
-			prepareHTTP();
-		} else {
-			prepareWS();
-		}
 	}
 	
 	/**
@@ -208,10 +259,7 @@ public class QuarkHandler {
 	 */
 	private void prepareWS() throws IOException {
 		
-		final List<JsonNode> data = request.getData();
-		final int size = Objects.isNull(data) ? 0 : data.size();
-
-		if (size == 0) {
+		if (request.getSize() == 0) {
 			response = QuarkHandlerUtil.getError(QuarkErrors.E0000);
 		}
 	}
@@ -223,24 +271,124 @@ public class QuarkHandler {
 	private void prepareHTTP() throws IOException {
 		
 		if (Objects.nonNull(request)) return;
+
+		if (Objects.nonNull(tokens)) {
+			prepareTokens();
+			return;
+		}
 		
 		final String val = QuarkUtil.normalize(httpRequest.getContentType());
 		final MIME mime = MIME.toMime(val); 		
-		
-		String body = null;
+
+		final ByteBuffer raw = Objects.isNull(body) ? ServletUtils.readBody(httpRequest) : body;
+		body = null;
+
+		try {
+			prepareHTTP(raw, mime);
+		} finally {
+			// request is fully decoded, pooled body is not referenced any more
+			QuarkStream.release(raw);
+		}
+	}
+
+	/**
+	 * Decode request from raw body, encrypted data is decrypted in place
+	 * and parsed from bytes
+	 * @param raw
+	 * @param mime
+	 * @throws IOException
+	 */
+	private void prepareHTTP(final ByteBuffer raw, final MIME mime) throws IOException {
+
+		ByteBuffer buffer = raw;
 		if (MIME.OCTET == mime) {
-			ByteBuffer buffer = ServletUtils.getBodyAsBuffer(httpRequest);
 			final int type = QuarkStream.type(buffer);
 			compress = QuarkStream.isCompress(type);
-			buffer = QuarkStream.unwrap(buffer, quarkKey);
-			body = new String(buffer.array(), StandardCharsets.UTF_8);
+			codec = compress ? QuarkCodecs.get(QuarkStream.codec(type)) : null;
+			dictionary = compress ? QuarkDictionary.get(QuarkStream.dictionary(buffer)) : null;
+			buffer = QuarkStream.unwrapInPlace(buffer, quarkKey);
 		} else {
 			compress = ServletUtils.supportGzip(httpRequest);
-			body = ServletUtils.getBodyAsString(httpRequest);			
 		}
 
-		request = QuarkJson.convert(WebRequest.class, body);
+		if (QuarkRequestDecoder.isBatch(buffer)) {
+			final List<WebRequest> list = QuarkEngine.STREAMING ? QuarkRequestDecoder.decodeBatch(buffer, this::isAllowed) : toBatch(buffer);
+			dispatch(list, MIME.OCTET == mime);
+			return;
+		}
+
+		if (QuarkEngine.STREAMING) {
+			request = QuarkRequestDecoder.decode(buffer, this::isAllowed);
+		} else {
+			request = QuarkJson.convert(WebRequest.class, QuarkJson.parse(buffer));
+		}
+
+	}
+
+	/**
+	 * Get request from JSON tokens collected by non-blocking reader
+	 * @throws IOException
+	 */
+	private void prepareTokens() throws IOException {
+
+		compress = ServletUtils.supportGzip(httpRequest);
+
+		try (JsonParser parser = tokens.asParser()) {
+			if (tokens.firstToken() == JsonToken.START_ARRAY) {
+				dispatch(QuarkRequestDecoder.decodeBatch(parser, this::isAllowed), false);
+			} else {
+				request = QuarkRequestDecoder.decode(parser, this::isAllowed);
+			}
+		}
+	}
+
+	/**
+	 * Multi-call HTTP request, every call is executed in parallel
+	 * and its result streamed back as soon as it is available.
+	 * Calls are started through QuarkVirtualExecutor, so batch
+	 * obeys the same concurrency limit as single calls.
+	 * @param list
+	 * @param binary
+	 * @throws IOException
+	 */
+	private void dispatch(final List<WebRequest> list, final boolean binary) throws IOException {
+
+		batched = true;
+
+		if (QuarkRequestDecoder.isOverLimit(list.size())) {
+			httpResponse.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+			send(QuarkHandlerUtil.getError(QuarkErrors.E0429));
+			return;
+		}
+
+		// in non-blocking mode async is already started, response is completed through it
+		final boolean async = httpRequest.isAsyncSupported() && list.size() > 1;
+		final AsyncContext context = async || httpRequest.isAsyncStarted() ? getContext() : null;
+		final QuarkHttpBatch batch = new QuarkHttpBatch(httpResponse, context, quarkKey, codec, dictionary, binary, compress, list.size());
 
+		final List<QuarkHandler> handlers = new ArrayList<>(list.size());
+		for (WebRequest item : list) {
+			handlers.add(new QuarkHandler(httpRequest, httpResponse, item, uri, batch));
+		}
+
+		for (QuarkHandler handler : handlers) {
+			if (!async) {
+				handler.call();
+			} else if (!QuarkVirtualExecutor.execute("quark-batch", handler::call)) {
+				handler.send(QuarkHandlerUtil.getError(QuarkErrors.E0429));
+			}
+		}
+	}
+
+	private static List<WebRequest> toBatch(final ByteBuffer body) throws IOException {
+		final JsonNode node = QuarkJson.parse(body);
+		final List<WebRequest> list = new ArrayList<>();
+		for (JsonNode item : node) {
+			if (!item.isObject()) throw new IOException("Invalid request batch");
+			list.add(QuarkJson.convert(WebRequest.class, item));
+			if (QuarkRequestDecoder.isOverLimit(list.size())) break;
+		}
+		return list;
 	}
 
 	/**
@@ -280,7 +428,7 @@ public class QuarkHandler {
 	 * Send response to requester. Determine is it for WebSocket or Servlet
 	 * @return
 	 */
-	protected boolean send() {
+	protected synchronized boolean send() {
 		
 		if (Objects.isNull(response)) return false;
 		if (sent) return !sent;
@@ -312,6 +460,11 @@ public class QuarkHandler {
 
 		final ExtJSDirectResponse<JsonNode> result = getResult();	
 
+		if (Objects.nonNull(batch)) {
+			batch.offer(result);
+			return;
+		}
+
 		final List<ExtJSDirectResponse<?>> responseList = new ArrayList<>();
 		responseList.add(result);
 	
@@ -327,10 +480,14 @@ public class QuarkHandler {
 	private void sendHTTP() throws IOException {
 		
 		final ExtJSDirectResponse<JsonNode> result = getResult();
+
+		if (Objects.nonNull(httpBatch)) {
+			httpBatch.offer(result);
+			return;
+		}
 	
 		if (Objects.nonNull(quarkKey)) {
-			final String json = QuarkJson.stringify(result);			
-			final ByteBuffer buff = QuarkStream.wrap(json, quarkKey, compress, null);
+			final ByteBuffer buff = QuarkStream.encode(result, quarkKey, codec, dictionary, null, httpRequest.getServletPath());
 			ServletUtils.sendResponse(httpResponse, buff, false);				
 		} else {		
 			ServletUtils.sendResponse(httpResponse, result, compress);
@@ -362,10 +519,9 @@ public class QuarkHandler {
             }
         }
         
-		final List<AnnotatedParameter<AnnotatedParameter<?>>> paramList = handle.annotatedMethod().getParameters();
-		final Object[] params = QuarkHandlerUtil.fillParams(request, paramList);
+		final Object[] params = QuarkHandlerUtil.fillParams(request, handle);
 		
-		error = ReflectionUtil.isParametersInvalid(paramList, params);
+		error = ReflectionUtil.isParametersInvalid(handle, params);
 		if (error) {
 			response = QuarkHandlerUtil.getError(QuarkErrors.E0002);
 		} else {
@@ -418,6 +574,15 @@ public class QuarkHandler {
 
 	}
 
+	/**
+	 * Same checks as before call execution, used by decoder
+	 * to bind arguments only for calls which will be executed
+	 */
+	private boolean isAllowed(final IQuarkHandle handle) {
+		if (checkForError(handle, uri)) return false;
+		return !(handle.isProtected() && ServletUtils.isDisabled(ctx));
+	}
+
 	/**
 	 * Validate access control. Controller defined path must match to the WebSocket or Servlet path.   
 	 *
@@ -432,7 +597,7 @@ public class QuarkHandler {
 		if (Objects.isNull(handle))
 			return true;
 
-		if (!QuarkMapper.find(handle).get().accept(uri))
+		if (!QuarkMapper.accept(handle, uri))
 			return true;
 
 		if (requireSession && ! ServletUtils.isValidHttpSession(getSession()))
@@ -464,13 +629,77 @@ public class QuarkHandler {
 	public static void call(final WebSocketSession wsSession, final ExtJSDirectRequest<JsonNode> data, final String uri) {
 		new QuarkHandler(wsSession, data, uri).call();
 	}
+
+	/**
+	 * Start processing for WebSocket request batch.
+	 * If QuarkEngine.BATCH_DEADLINE is set, calls are executed in parallel
+	 * through QuarkVirtualExecutor and responses are sent in a single frame.
+	 * Requests above QuarkEngine.MAX_BATCH are not executed,
+	 * they get E0429 response, all in a single frame.
+	 * @param wsSession
+	 * @param data
+	 */
+	public static void call(final WebSocketSession wsSession, final List<ExtJSDirectRequest<JsonNode>> data) {
+
+		final int size = Objects.isNull(data) ? 0 : data.size();
+		if (size == 0) return;
+
+		final String uri = wsSession.get(QuarkConstants.QUARK_PATH);
+		final int limit = QuarkRequestDecoder.isOverLimit(size) ? QuarkEngine.MAX_BATCH : size;
+
+		reject(wsSession, data.subList(limit, size), uri);
+
+		final List<ExtJSDirectRequest<JsonNode>> accepted = data.subList(0, limit);
+
+		if (QuarkEngine.BATCH_DEADLINE <= 0 || limit == 1) {
+			for (final ExtJSDirectRequest<JsonNode> request : accepted) {
+				call(wsSession, request, uri);
+			}
+			return;
+		}
+
+		final QuarkBatch batch = new QuarkBatch(wsSession, limit);
+		batch.start(QuarkEngine.BATCH_DEADLINE);
+
+		for (final ExtJSDirectRequest<JsonNode> request : accepted) {
+			final QuarkHandler handler = new QuarkHandler(wsSession, request, uri, batch);
+			if (!QuarkVirtualExecutor.execute("quark-batch", handler::call)) {
+				handler.send(QuarkHandlerUtil.getError(QuarkErrors.E0429));
+			}
+		}
+	}
 	
+	/**
+	 * Send E0429 for every request above batch limit, in a single frame
+	 */
+	private static void reject(final WebSocketSession wsSession, final List<ExtJSDirectRequest<JsonNode>> list, final String uri) {
+		if (list.isEmpty()) return;
+		final QuarkBatch batch = new QuarkBatch(wsSession, list.size());
+		for (final ExtJSDirectRequest<JsonNode> request : list) {
+			new QuarkHandler(wsSession, request, uri, batch).send(QuarkHandlerUtil.getError(QuarkErrors.E0429));
+		}
+	}
+
 	/**
 	 * Start processing for Servlet
 	 * @param request
 	 * @param response
 	 */
 	public static void call(final HttpServletRequest request, final HttpServletResponse response) {
+		if (QuarkHttpReader.isSupported(request)) {
+			try {
+				QuarkHttpReader.start(request, response, request.getServletPath());
+				return;
+			} catch (IOException | IllegalStateException e) {
+				final String msg = QuarkUtil.toMessage(e);
+				LOG.error(msg);
+				LOG.debug(msg, e);
+				if (request.isAsyncStarted()) {
+					new QuarkHandler(request, response, null, request.getServletPath()).send(e);
+					return;
+				}
+			}
+		}
 		call(request, response, null, request.getServletPath());
 	}
 		
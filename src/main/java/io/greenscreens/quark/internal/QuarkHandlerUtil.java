@@ -7,8 +7,10 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +21,7 @@ import io.greenscreens.quark.ext.ExtJSDirectRequest;
 import io.greenscreens.quark.ext.ExtJSObjectResponse;
 import io.greenscreens.quark.ext.ExtJSResponse;
 import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.reflection.IQuarkParameter;
 import io.greenscreens.quark.util.QuarkJson;
 import io.greenscreens.quark.util.QuarkUtil;
 import io.greenscreens.quark.util.ReflectionUtil;
@@ -37,6 +40,43 @@ public enum QuarkHandlerUtil {
 	private static final Logger LOG = LoggerFactory.getLogger(QuarkHandlerUtil.class);
 
 
+	/**
+	 * Map JSON arguments to Java Method parameters using precomputed binding plan
+	 * @param <T>
+	 * @param request
+	 * @param handle
+	 * @return
+	 * @throws IOException
+	 */
+	public static <T> Object[] fillParams(final ExtJSDirectRequest<T> request, final IQuarkHandle handle) throws IOException {
+
+		final List<IQuarkParameter> binders = handle.parameters();
+		final Object[] args = Objects.nonNull(request.getTokens()) ? QuarkRequestDecoder.bindArgs(request.getTokens(), handle) : request.getArgs();
+
+		if (Objects.nonNull(args)) {
+			QuarkBindError.check(args);
+			return args.length == binders.size() ? args : Arrays.copyOf(args, binders.size());
+		}
+
+		final List<T> data = request.getData();
+		final int paramSize = binders.size();
+		final int incomingParamsSize = Objects.isNull(data) ? 0 : data.size();
+		final int size = Math.min(paramSize, incomingParamsSize);
+
+		final Object[] params = new Object[paramSize];
+
+		for (int i = 0; i < size; i++) {
+			final Object paramData = data.get(i);
+			if (paramData instanceof JsonNode node) {
+				params[i] = binders.get(i).bind(node);
+			} else {
+				params[i] = paramData;
+			}
+		}
+
+		return params;
+	}
+
 	/**
 	 * Map JSON arguments to Java Method parameters
 	 * @param <T>
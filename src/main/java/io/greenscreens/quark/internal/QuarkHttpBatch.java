@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.greenscreens.quark.ext.ExtJSDirectResponse;
+import io.greenscreens.quark.security.IQuarkKey;
+import io.greenscreens.quark.stream.IQuarkCodec;
+import io.greenscreens.quark.stream.QuarkDictionary;
+import io.greenscreens.quark.stream.QuarkStream;
+import io.greenscreens.quark.util.QuarkJson;
+import io.greenscreens.quark.util.QuarkUtil;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Streamed response for multi-call HTTP POST.
+ * Every call result is written as soon as it is available,
+ * frames are matched by tid at the front end.
+ *
+ * Wire format:
+ * <ul>
+ * <li>application/octet-stream - concatenated Quark streams, each frame is
+ * delimited by its own 8 byte header (GS, version, type, uint32 payload length),
+ * no separator between frames, as payload may contain any byte</li>
+ * <li>application/x-ndjson - one JSON response per line,
+ * optionally in a gzip stream flushed per frame</li>
+ * </ul>
+ */
+final class QuarkHttpBatch {
+
+	private static final Logger LOG = LoggerFactory.getLogger(QuarkHttpBatch.class);
+
+	private static final byte NEW_LINE = '\n';
+
+	static final String MIME_JSON = "application/x-ndjson";
+	static final String MIME_BINARY = "application/octet-stream";
+
+	private final AsyncContext context;
+	private final IQuarkKey key;
+	private final IQuarkCodec codec;
+	private final QuarkDictionary dictionary;
+	private final boolean binary;
+	private final boolean compress;
+	private final int expected;
+
+	private OutputStream out;
+	private int received = 0;
+
+	/**
+	 * @param response
+	 * @param context - if null, calls are executed in servlet thread
+	 * @param key
+	 * @param codec - binary frames codec, same as in request
+	 * @param dictionary - preset dictionary, same as in request
+	 * @param binary
+	 * @param compress
+	 * @param expected - number of calls
+	 * @throws IOException
+	 */
+	QuarkHttpBatch(final HttpServletResponse response, final AsyncContext context, final IQuarkKey key, final IQuarkCodec codec, final QuarkDictionary dictionary, final boolean binary, final boolean compress, final int expected) throws IOException {
+		super();
+		this.context = context;
+		this.key = key;
+		this.codec = codec;
+		this.dictionary = dictionary;
+		this.binary = binary;
+		this.compress = compress;
+		this.expected = expected;
+		this.out = open(response);
+		if (expected == 0) close();
+	}
+
+	private OutputStream open(final HttpServletResponse response) throws IOException {
+		response.setContentType(binary ? MIME_BINARY : MIME_JSON);
+		if (binary || !compress) return response.getOutputStream();
+		response.setHeader("Content-Encoding", "gzip");
+		return QuarkStream.gzip(response.getOutputStream(), true);
+	}
+
+	/**
+	 * Write call result frame
+	 * @param result
+	 */
+	synchronized void offer(final ExtJSDirectResponse<?> result) {
+
+		received++;
+
+		try {
+			if (Objects.nonNull(out)) {
+				write(result);
+			}
+		} catch (IOException e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.error(msg);
+			LOG.debug(msg, e);
+			close();
+		}
+
+		if (received >= expected) {
+			close();
+		}
+	}
+
+	private void write(final ExtJSDirectResponse<?> result) throws IOException {
+
+		if (binary) {
+			// frame length is in stream header
+			final ByteBuffer buffer = QuarkStream.encode(result, key, codec, dictionary, null, null);
+			out.write(QuarkStream.asBytes(buffer));
+		} else {
+			QuarkJson.write(out, result);
+			out.write(NEW_LINE);
+		}
+
+		out.flush();
+	}
+
+	private void close() {
+		if (Objects.isNull(out)) return;
+		try {
+			out.close();
+		} catch (IOException e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.error(msg);
+			LOG.debug(msg, e);
+		} finally {
+			out = null;
+			if (Objects.nonNull(context)) context.complete();
+		}
+	}
+
+}
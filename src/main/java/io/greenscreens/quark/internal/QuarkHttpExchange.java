@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import io.greenscreens.quark.util.QuarkUtil;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Async context for non-blocking HTTP call. Request and response are wrapped,
+ * so existing response writers write into non-blocking stream,
+ * and completion is deferred until response is fully written.
+ */
+final class QuarkHttpExchange implements AsyncContext {
+
+	private final AsyncContext context;
+	private final QuarkHttpWriter writer;
+	private final HttpServletRequest request;
+	private final HttpServletResponse response;
+
+	QuarkHttpExchange(final AsyncContext context) throws IOException {
+		super();
+		this.context = context;
+		this.writer = new QuarkHttpWriter(context);
+		this.request = new Request((HttpServletRequest) context.getRequest());
+		this.response = new Response((HttpServletResponse) context.getResponse());
+	}
+
+	@Override
+	public HttpServletRequest getRequest() {
+		return request;
+	}
+
+	@Override
+	public HttpServletResponse getResponse() {
+		return response;
+	}
+
+	@Override
+	public boolean hasOriginalRequestAndResponse() {
+		return false;
+	}
+
+	@Override
+	public void dispatch() {
+		context.dispatch();
+	}
+
+	@Override
+	public void dispatch(final String path) {
+		context.dispatch(path);
+	}
+
+	@Override
+	public void dispatch(final ServletContext ctx, final String path) {
+		context.dispatch(ctx, path);
+	}
+
+	@Override
+	public void complete() {
+		writer.complete();
+	}
+
+	@Override
+	public void start(final Runnable run) {
+		context.start(run);
+	}
+
+	@Override
+	public void addListener(final AsyncListener listener) {
+		context.addListener(listener);
+	}
+
+	@Override
+	public void addListener(final AsyncListener listener, final ServletRequest servletRequest, final ServletResponse servletResponse) {
+		context.addListener(listener, servletRequest, servletResponse);
+	}
+
+	@Override
+	public <T extends AsyncListener> T createListener(final Class<T> clazz) throws ServletException {
+		return context.createListener(clazz);
+	}
+
+	@Override
+	public void setTimeout(final long timeout) {
+		context.setTimeout(timeout);
+	}
+
+	@Override
+	public long getTimeout() {
+		return context.getTimeout();
+	}
+
+	/**
+	 * Async is already started, body is already read
+	 */
+	private final class Request extends HttpServletRequestWrapper {
+
+		Request(final HttpServletRequest request) {
+			super(request);
+		}
+
+		@Override
+		public boolean isAsyncStarted() {
+			return true;
+		}
+
+		@Override
+		public AsyncContext getAsyncContext() {
+			return QuarkHttpExchange.this;
+		}
+
+		@Override
+		public AsyncContext startAsync() {
+			return QuarkHttpExchange.this;
+		}
+
+		@Override
+		public AsyncContext startAsync(final ServletRequest servletRequest, final ServletResponse servletResponse) {
+			return QuarkHttpExchange.this;
+		}
+
+	}
+
+	/**
+	 * Response output is redirected to non-blocking writer
+	 */
+	private final class Response extends HttpServletResponseWrapper {
+
+		private PrintWriter printWriter;
+
+		Response(final HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			return writer;
+		}
+
+		@Override
+		public PrintWriter getWriter() {
+			if (Objects.isNull(printWriter)) {
+				final String encoding = getCharacterEncoding();
+				final Charset charset = QuarkUtil.isEmpty(encoding) ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+				printWriter = new PrintWriter(new OutputStreamWriter(writer, charset));
+			}
+			return printWriter;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (Objects.nonNull(printWriter)) printWriter.flush();
+			writer.flush();
+		}
+
+		@Override
+		public void resetBuffer() {
+			super.resetBuffer();
+			writer.reset();
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			writer.reset();
+		}
+
+	}
+
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import io.greenscreens.quark.QuarkEngine;
+import io.greenscreens.quark.stream.QuarkBufferPool;
+import io.greenscreens.quark.stream.QuarkStream;
+import io.greenscreens.quark.util.QuarkJson;
+import io.greenscreens.quark.util.QuarkUtil;
+import io.greenscreens.quark.util.override.MIME;
+import io.greenscreens.quark.web.ServletUtils;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Non-blocking HTTP request body reader. Servlet thread is released
+ * while body is received, call is dispatched when all data is read.
+ *
+ * Plain JSON body is tokenized as bytes arrive, with non-blocking parser,
+ * binary or compressed body is read directly into pooled buffer presized
+ * from Content-Length (up to largest pooled size) and grown as data arrives,
+ * as it can be decoded only when complete.
+ * Body size is limited with QuarkEngine.MAX_BODY, and time with QuarkEngine.ASYNC_TIMEOUT.
+ * Container timeout is disabled, as it can not be changed once call starts,
+ * read timeout is own timer, cancelled when body is received.
+ */
+final class QuarkHttpReader implements ReadListener {
+
+	private static final Logger LOG = LoggerFactory.getLogger(QuarkHttpReader.class);
+
+	private static final int CHUNK = 8 * 1024;
+
+	private final AsyncContext context;
+	private final ServletInputStream in;
+	private final String uri;
+	private final boolean gzip;
+
+	private final JsonParser parser;
+	private final TokenBuffer tokens;
+
+	private byte[] chunk;
+	private byte[] data;
+	private int count = 0;
+	private volatile boolean done = false;
+	private ScheduledFuture<?> timer;
+
+	private QuarkHttpReader(final AsyncContext context, final ServletInputStream in, final String uri, final boolean parse, final boolean gzip, final int length) throws IOException {
+		super();
+		this.context = context;
+		this.in = in;
+		this.uri = uri;
+		this.gzip = gzip;
+		this.parser = parse ? QuarkJson.nonBlockingParser() : null;
+		this.tokens = parse ? QuarkJson.tokenBuffer() : null;
+		this.chunk = parse ? QuarkBufferPool.acquire(CHUNK) : null;
+		this.data = parse ? null : QuarkBufferPool.acquire(initial(length));
+	}
+
+	@Override
+	public synchronized void onDataAvailable() throws IOException {
+
+		if (done) return;
+
+		try {
+			while (in.isReady()) {
+				if (Objects.isNull(parser)) {
+					ensure();
+					final int len = in.read(data, count, data.length - count);
+					if (len < 0) return;
+					count(len);
+				} else {
+					final int len = in.read(chunk);
+					if (len < 0) return;
+					count(len);
+					((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(chunk, 0, len);
+					tokenize();
+				}
+			}
+		} catch (IOException e) {
+			// malformed JSON or too large body is rejected without waiting for the rest
+			abort();
+			fail(e);
+		}
+	}
+
+	@Override
+	public void onAllDataRead() throws IOException {
+
+		if (!finish()) return;
+
+		final QuarkHandler handler = handler();
+		if (Objects.isNull(handler)) {
+			discard();
+			return;
+		}
+
+		try {
+			if (Objects.isNull(parser)) {
+				// handler takes over pooled body
+				handler.call(body());
+			} else {
+				parser.getNonBlockingInputFeeder().endOfInput();
+				tokenize();
+				parser.close();
+				handler.call(tokens);
+			}
+		} catch (IOException e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.error(msg);
+			LOG.debug(msg, e);
+			handler.send(e);
+		}
+	}
+
+	@Override
+	public void onError(final Throwable t) {
+		abort();
+		final String msg = QuarkUtil.toMessage(t);
+		LOG.error(msg);
+		LOG.debug(msg, t);
+		context.complete();
+	}
+
+	/**
+	 * Copy all tokens available so far
+	 */
+	private void tokenize() throws IOException {
+		JsonToken token = parser.nextToken();
+		while (Objects.nonNull(token) && token != JsonToken.NOT_AVAILABLE) {
+			tokens.copyCurrentEvent(parser);
+			token = parser.nextToken();
+		}
+	}
+
+	/**
+	 * Grow pooled buffer when full
+	 */
+	private void ensure() {
+		if (count < data.length) return;
+		final byte[] next = QuarkBufferPool.acquire(data.length << 1);
+		System.arraycopy(data, 0, next, 0, count);
+		QuarkBufferPool.release(data);
+		data = next;
+	}
+
+	private void count(final int len) throws IOException {
+		count += len;
+		if (QuarkEngine.MAX_BODY > 0 && count > QuarkEngine.MAX_BODY) throw new IOException("Data exceeds limit of " + QuarkEngine.MAX_BODY + " bytes");
+	}
+
+	/**
+	 * Pooled body, gzip is decompressed into new pooled buffer
+	 */
+	private ByteBuffer body() throws IOException {
+		final ByteBuffer buffer = ByteBuffer.wrap(data, 0, count);
+		data = null;
+		if (!gzip) return buffer;
+		try {
+			return QuarkStream.decompressAsPooledBuffer(QuarkStream.asStream(buffer), count, QuarkEngine.MAX_BODY);
+		} finally {
+			QuarkStream.release(buffer);
+		}
+	}
+
+	private void fail(final IOException e) {
+		final String msg = QuarkUtil.toMessage(e);
+		LOG.error(msg);
+		LOG.debug(msg, e);
+		final QuarkHandler handler = handler();
+		if (Objects.nonNull(handler)) handler.send(e);
+	}
+
+	/**
+	 * Handler over wrapped request / response, 
+	 * response is written in non-blocking mode
+	 */
+	private QuarkHandler handler() {
+		try {
+			final QuarkHttpExchange exchange = new QuarkHttpExchange(context);
+			return new QuarkHandler(exchange.getRequest(), exchange.getResponse(), null, uri);
+		} catch (IOException | IllegalStateException e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.error(msg);
+			LOG.debug(msg, e);
+			context.complete();
+			return null;
+		}
+	}
+
+	/**
+	 * Mark body as received, body buffer is kept for handler
+	 * @return false if reader is already done
+	 */
+	private synchronized boolean finish() {
+		if (done) return false;
+		done = true;
+		release();
+		return true;
+	}
+
+	/**
+	 * Stop reading and return all buffers to pool
+	 * @return false if reader is already done
+	 */
+	private synchronized boolean abort() {
+		if (done) return false;
+		done = true;
+		release();
+		discard();
+		return true;
+	}
+
+	private void release() {
+		if (Objects.nonNull(timer)) timer.cancel(false);
+		QuarkBufferPool.release(chunk);
+		chunk = null;
+	}
+
+	/**
+	 * Body read timeout, called from timer thread
+	 */
+	private void expire() {
+		if (abort()) QuarkScheduler.offload("quark-read-timeout", this::reject);
+	}
+
+	/**
+	 * Reply with timeout error and close exchange, reader must be aborted
+	 */
+	private void reject() {
+		LOG.warn("Request body not received within {} ms for {}", QuarkEngine.ASYNC_TIMEOUT, uri);
+		try {
+			final ServletResponse response = context.getResponse();
+			if (!response.isCommitted()) {
+				final boolean compress = ServletUtils.supportGzip((HttpServletRequest) context.getRequest());
+				ServletUtils.sendResponse(ServletUtils.wrap(response), QuarkHandlerUtil.getError(QuarkErrors.E7777), compress);
+			}
+		} catch (IllegalStateException e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.error(msg);
+			LOG.debug(msg, e);
+		} finally {
+			context.complete();
+		}
+	}
+
+	/**
+	 * Release body not handed over to handler
+	 */
+	private void discard() {
+		QuarkBufferPool.release(data);
+		data = null;
+	}
+
+	/**
+	 * Initial body buffer size, declared length is capped,
+	 * so client can not reserve memory without sending data
+	 */
+	private static int initial(final int size) {
+		if (size <= 0) return CHUNK;
+		if (QuarkEngine.MAX_BODY > 0 && size > QuarkEngine.MAX_BODY) return CHUNK;
+		return Math.min(size, QuarkBufferPool.MAX_SIZE);
+	}
+
+	/**
+	 * Use non-blocking mode if enabled and supported by container
+	 * @param request
+	 * @return
+	 */
+	static boolean isSupported(final HttpServletRequest request) {
+		return QuarkEngine.NON_BLOCKING && request.isAsyncSupported() && !request.isAsyncStarted();
+	}
+
+	/**
+	 * Start async processing and register body reader,
+	 * servlet thread is released on return
+	 * @param request
+	 * @param response
+	 * @param uri
+	 * @throws IOException
+	 */
+	static void start(final HttpServletRequest request, final HttpServletResponse response, final String uri) throws IOException {
+		final MIME mime = MIME.toMime(QuarkUtil.normalize(request.getContentType()));
+		final boolean gzip = ServletUtils.isGzipped(request);
+		final boolean parse = QuarkEngine.STREAMING && !gzip && MIME.OCTET != mime;
+		final AsyncContext context = request.startAsync(request, response);
+		// container timeout would also cover call execution, which has own deadline
+		if (QuarkEngine.ASYNC_TIMEOUT >= 0) context.setTimeout(0);
+		final ServletInputStream in = request.getInputStream();
+		final QuarkHttpReader reader = new QuarkHttpReader(context, in, uri, parse, gzip, request.getContentLength());
+		if (QuarkEngine.ASYNC_TIMEOUT > 0) reader.timer = QuarkScheduler.schedule(reader::expire, QuarkEngine.ASYNC_TIMEOUT);
+		context.addListener(new Listener(reader));
+		in.setReadListener(reader);
+	}
+
+	/**
+	 * Releases buffers if request times out or fails while body is still received,
+	 * container timeout is active only with negative QuarkEngine.ASYNC_TIMEOUT
+	 */
+	private static final class Listener implements AsyncListener {
+
+		private final QuarkHttpReader reader;
+
+		Listener(final QuarkHttpReader reader) {
+			super();
+			this.reader = reader;
+		}
+
+		@Override
+		public void onTimeout(final AsyncEvent event) throws IOException {
+			if (reader.abort()) reader.reject();
+		}
+
+		@Override
+		public void onError(final AsyncEvent event) throws IOException {
+			reader.abort();
+		}
+
+		@Override
+		public void onComplete(final AsyncEvent event) throws IOException {
+			reader.abort();
+		}
+
+		@Override
+		public void onStartAsync(final AsyncEvent event) throws IOException {
+			// not used
+		}
+	}
+
+}
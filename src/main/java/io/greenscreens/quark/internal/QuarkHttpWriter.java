@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.greenscreens.quark.util.QuarkUtil;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+/**
+ * Non-blocking response stream. Written data is buffered and queued on flush,
+ * queue is written to container stream only while it is ready,
+ * the rest is written from container callback.
+ * Async context is completed when queue is fully written.
+ */
+final class QuarkHttpWriter extends ServletOutputStream implements WriteListener {
+
+	private static final Logger LOG = LoggerFactory.getLogger(QuarkHttpWriter.class);
+
+	private final AsyncContext context;
+	private final ServletOutputStream out;
+	private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+	private boolean closing = false;
+	private boolean completed = false;
+	private boolean failed = false;
+
+	QuarkHttpWriter(final AsyncContext context) throws IOException {
+		super();
+		this.context = context;
+		this.out = context.getResponse().getOutputStream();
+		this.out.setWriteListener(this);
+	}
+
+	/**
+	 * Data is buffered, always ready unless container stream failed
+	 */
+	@Override
+	public boolean isReady() {
+		return !failed;
+	}
+
+	@Override
+	public void setWriteListener(final WriteListener listener) {
+		throw new IllegalStateException("Write listener already set");
+	}
+
+	@Override
+	public synchronized void write(final int b) throws IOException {
+		check();
+		pending.write(b);
+	}
+
+	@Override
+	public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+		check();
+		pending.write(b, off, len);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		synchronized (this) {
+			check();
+			enqueue();
+		}
+		drain();
+	}
+
+	/**
+	 * Response is finished with async context, not with stream
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+
+	/**
+	 * Discard data not flushed yet
+	 */
+	synchronized void reset() {
+		pending.reset();
+	}
+
+	/**
+	 * Complete async context when all data is written
+	 */
+	void complete() {
+		synchronized (this) {
+			closing = true;
+			enqueue();
+		}
+		drain();
+	}
+
+	@Override
+	public void onWritePossible() throws IOException {
+		drain();
+	}
+
+	@Override
+	public synchronized void onError(final Throwable t) {
+		final String msg = QuarkUtil.toMessage(t);
+		LOG.error(msg);
+		LOG.debug(msg, t);
+		failed = true;
+		queue.clear();
+		pending.reset();
+		finish();
+	}
+
+	/**
+	 * Write queued data while container accepts it, 
+	 * if not ready, container will call onWritePossible later
+	 */
+	private synchronized void drain() {
+		if (failed) return;
+		try {
+			while (out.isReady()) {
+				final byte[] data = queue.poll();
+				if (Objects.isNull(data)) {
+					if (closing) finish();
+					return;
+				}
+				out.write(data);
+			}
+		} catch (IOException e) {
+			onError(e);
+		}
+	}
+
+	private void enqueue() {
+		if (pending.size() == 0) return;
+		queue.add(pending.toByteArray());
+		pending.reset();
+	}
+
+	private void finish() {
+		if (completed) return;
+		completed = true;
+		context.complete();
+	}
+
+	private void check() throws IOException {
+		if (failed) throw new IOException("Response stream failed");
+		if (closing) throw new IOException("Response already completed");
+	}
+
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import io.greenscreens.quark.QuarkEngine;
+import io.greenscreens.quark.ext.ExtJSDirectRequest;
+import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.reflection.IQuarkParameter;
+import io.greenscreens.quark.reflection.internal.QuarkMapper;
+import io.greenscreens.quark.util.QuarkJson;
+import io.greenscreens.quark.web.data.WebRequest;
+import io.greenscreens.quark.websocket.data.WebSocketInstruction;
+import io.greenscreens.quark.websocket.data.WebSocketRequest;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Single pass request decoder. Request envelope is read from JSON stream,
+ * and when target method is already known (handle received before data),
+ * arguments are deserialized directly into method parameter types,
+ * without intermediate JsonNode tree.
+ *
+ * HTTP caller supplies access check (path, session, protection), arguments
+ * are bound only for allowed calls, and skipped for others.
+ * WebSocket messages are decoded before handler exists, so arguments are
+ * buffered as tokens and bound after the call is authorized.
+ *
+ * If handle is received after data, or message is encrypted in legacy format,
+ * arguments are kept as JsonNode and bound later.
+ */
+@Vetoed
+public enum QuarkRequestDecoder {
+;
+
+	/**
+	 * Decode HTTP request
+	 * @param buffer
+	 * @param access - call authorization, arguments are bound only if allowed
+	 * @return
+	 * @throws IOException
+	 */
+	public static WebRequest decode(final ByteBuffer buffer, final Predicate<IQuarkHandle> access) throws IOException {
+		try (JsonParser parser = QuarkJson.parser(buffer)) {
+			return decode(parser, access);
+		}
+	}
+
+	/**
+	 * Decode HTTP request from already created parser
+	 * @param parser
+	 * @param access - call authorization, arguments are bound only if allowed
+	 * @return
+	 * @throws IOException
+	 */
+	public static WebRequest decode(final JsonParser parser, final Predicate<IQuarkHandle> access) throws IOException {
+		parser.nextToken();
+		return read(parser, new WebRequest(), true, access);
+	}
+
+	/**
+	 * Decode multi-call HTTP request, array of requests
+	 * @param buffer
+	 * @param access - call authorization, arguments are bound only if allowed
+	 * @return
+	 * @throws IOException
+	 */
+	public static List<WebRequest> decodeBatch(final ByteBuffer buffer, final Predicate<IQuarkHandle> access) throws IOException {
+		try (JsonParser parser = QuarkJson.parser(buffer)) {
+			return decodeBatch(parser, access);
+		}
+	}
+
+	/**
+	 * Decode multi-call HTTP request from already created parser.
+	 * Decoding stops after QuarkEngine.MAX_BATCH + 1 requests,
+	 * caller rejects batch above limit.
+	 * @param parser
+	 * @param access - call authorization, arguments are bound only if allowed
+	 * @return
+	 * @throws IOException
+	 */
+	public static List<WebRequest> decodeBatch(final JsonParser parser, final Predicate<IQuarkHandle> access) throws IOException {
+		if (parser.nextToken() != JsonToken.START_ARRAY) {
+			throw new IOException("Invalid request batch");
+		}
+		final List<WebRequest> list = new ArrayList<>();
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			if (parser.currentToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Invalid request batch");
+			}
+			list.add(read(parser, new WebRequest(), true, access));
+			if (isOverLimit(list.size())) break;
+		}
+		return list;
+	}
+
+	/**
+	 * Check batch size against QuarkEngine.MAX_BATCH
+	 * @param size
+	 * @return
+	 */
+	public static boolean isOverLimit(final int size) {
+		return QuarkEngine.MAX_BATCH > 0 && size > QuarkEngine.MAX_BATCH;
+	}
+
+	/**
+	 * Check if HTTP body is multi-call request (JSON array)
+	 * @param buffer
+	 * @return
+	 */
+	public static boolean isBatch(final ByteBuffer buffer) {
+		for (int i = buffer.position(); i < buffer.limit(); i++) {
+			final byte b = buffer.get(i);
+			if (b == ' ' || b == '\t' || b == '\r' || b == '\n') continue;
+			return b == '[';
+		}
+		return false;
+	}
+
+	/**
+	 * Decode WebSocket binary message
+	 * @param buffer
+	 * @return
+	 * @throws IOException
+	 */
+	public static WebSocketRequest decodeWS(final ByteBuffer buffer) throws IOException {
+		try (JsonParser parser = QuarkJson.parser(buffer)) {
+			return readWS(parser);
+		}
+	}
+
+	/**
+	 * Decode WebSocket text message
+	 * @param message
+	 * @return
+	 * @throws IOException
+	 */
+	public static WebSocketRequest decodeWS(final String message) throws IOException {
+		try (JsonParser parser = QuarkJson.parser(message)) {
+			return readWS(parser);
+		}
+	}
+
+	private static WebSocketRequest readWS(final JsonParser parser) throws IOException {
+
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Invalid WebSocket request");
+		}
+
+		final WebSocketRequest request = new WebSocketRequest();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+			final String name = parser.currentName();
+			parser.nextToken();
+
+			switch (name) {
+			case "cmd":
+				request.setCmd(toInstruction(parser.getValueAsString()));
+				break;
+			case "timeout":
+				request.setTimeout(parser.getValueAsInt());
+				break;
+			case "errMsg":
+				request.setErrMsg(parser.getValueAsString());
+				break;
+			case "errId":
+				request.setErrId(parser.getValueAsInt());
+				break;
+			case "data":
+				request.setData(readBatch(parser, isBindable(request.getCmd())));
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		}
+
+		return request;
+	}
+
+	/**
+	 * Legacy encrypted messages must be decrypted as JsonNode tree
+	 */
+	private static boolean isBindable(final WebSocketInstruction cmd) {
+		return Objects.nonNull(cmd) && WebSocketInstruction.ENC != cmd;
+	}
+
+	private static List<ExtJSDirectRequest<JsonNode>> readBatch(final JsonParser parser, final boolean bind) throws IOException {
+
+		if (parser.currentToken() != JsonToken.START_ARRAY) {
+			parser.skipChildren();
+			return null;
+		}
+
+		// for requests above limit only envelope is decoded, they are rejected by caller
+		final List<ExtJSDirectRequest<JsonNode>> list = new ArrayList<>();
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			if (parser.currentToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Invalid request batch");
+			}
+			if (isOverLimit(list.size() + 1)) {
+				list.add(readEnvelope(parser));
+			} else {
+				list.add(read(parser, new ExtJSDirectRequest<>(), bind, null));
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Read request identification only, arguments are skipped
+	 */
+	private static ExtJSDirectRequest<JsonNode> readEnvelope(final JsonParser parser) throws IOException {
+
+		final ExtJSDirectRequest<JsonNode> request = new ExtJSDirectRequest<>();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+			final String name = parser.currentName();
+			parser.nextToken();
+
+			switch (name) {
+			case "handle":
+				request.setHandle(parser.getValueAsLong());
+				break;
+			case "type":
+				request.setType(parser.getValueAsString());
+				break;
+			case "tid":
+				request.setTid(parser.getValueAsString());
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		}
+
+		return request;
+	}
+
+	/**
+	 * Read single direct request, parser is positioned at request START_OBJECT
+	 * @param access - if null, arguments are buffered for later binding
+	 */
+	private static <T extends ExtJSDirectRequest<JsonNode>> T read(final JsonParser parser, final T request, final boolean bind, final Predicate<IQuarkHandle> access) throws IOException {
+
+		final JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_NULL) return null;
+		if (token != JsonToken.START_OBJECT) {
+			throw new IOException("Invalid request");
+		}
+
+		IQuarkHandle handle = null;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+			final String name = parser.currentName();
+			parser.nextToken();
+
+			switch (name) {
+			case "handle":
+				request.setHandle(parser.getValueAsLong());
+				handle = bind ? QuarkMapper.get(request.getHandle()) : null;
+				break;
+			case "type":
+				request.setType(parser.getValueAsString());
+				break;
+			case "tid":
+				request.setTid(parser.getValueAsString());
+				break;
+			case "ts":
+				request.setTs(parser.getValueAsLong());
+				break;
+			case "priority":
+				request.setPriority(parser.getValueAsString());
+				break;
+			case "data":
+				readData(parser, request, handle, access);
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		}
+
+		return request;
+	}
+
+	private static void readData(final JsonParser parser, final ExtJSDirectRequest<JsonNode> request, final IQuarkHandle handle, final Predicate<IQuarkHandle> access) throws IOException {
+
+		final JsonToken token = parser.currentToken();
+
+		if (token == JsonToken.VALUE_NULL) {
+			request.setData(null);
+		} else if (Objects.nonNull(handle) && token == JsonToken.START_ARRAY) {
+			if (Objects.isNull(access)) {
+				readTokens(parser, request);
+			} else if (access.test(handle)) {
+				request.setArgs(readArgs(parser, handle));
+			} else {
+				// call is rejected by handler, arguments are not needed
+				parser.skipChildren();
+			}
+		} else {
+			request.setData(toList(parser.readValueAsTree()));
+		}
+	}
+
+	/**
+	 * Buffer arguments array, parser is positioned at START_ARRAY
+	 */
+	private static void readTokens(final JsonParser parser, final ExtJSDirectRequest<JsonNode> request) throws IOException {
+
+		final TokenBuffer buffer = QuarkJson.tokenBuffer();
+		int size = 0;
+
+		buffer.writeStartArray();
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			buffer.copyCurrentStructure(parser);
+			size++;
+		}
+		buffer.writeEndArray();
+
+		request.setTokens(buffer, size);
+	}
+
+	/**
+	 * Bind buffered arguments to method parameters
+	 * @param buffer
+	 * @param handle
+	 * @return
+	 * @throws IOException
+	 */
+	public static Object[] bindArgs(final TokenBuffer buffer, final IQuarkHandle handle) throws IOException {
+		try (JsonParser parser = buffer.asParser()) {
+			parser.nextToken();
+			return readArgs(parser, handle);
+		}
+	}
+
+	/**
+	 * Bind arguments directly to method parameters.
+	 * On binding error, value is skipped and error is reported when method is called.
+	 */
+	private static Object[] readArgs(final JsonParser parser, final IQuarkHandle handle) throws IOException {
+
+		final List<IQuarkParameter> binders = handle.parameters();
+		final int size = binders.size();
+		final JsonStreamContext context = parser.getParsingContext();
+		final List<Object> args = new ArrayList<>(size);
+
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+
+			if (args.size() >= size) {
+				parser.skipChildren();
+				continue;
+			}
+
+			try {
+				args.add(binders.get(args.size()).read(parser));
+			} catch (IOException e) {
+				skipTo(parser, context);
+				args.add(new QuarkBindError(e));
+			}
+		}
+
+		return args.toArray();
+	}
+
+	/**
+	 * Move parser back to arguments array level after failed binding
+	 */
+	private static void skipTo(final JsonParser parser, final JsonStreamContext context) throws IOException {
+		while (parser.getParsingContext() != context) {
+			if (Objects.isNull(parser.nextToken())) break;
+		}
+	}
+
+	private static List<JsonNode> toList(final JsonNode node) {
+		final List<JsonNode> list = new ArrayList<>();
+		if (Objects.isNull(node) || node.isNull()) return list;
+		if (node.isArray()) {
+			node.forEach(list::add);
+		} else {
+			list.add(node);
+		}
+		return list;
+	}
+
+	private static WebSocketInstruction toInstruction(final String value) throws IOException {
+		if (Objects.isNull(value)) return null;
+		for (WebSocketInstruction instruction : WebSocketInstruction.values()) {
+			if (instruction.getText().equals(value)) return instruction;
+		}
+		throw new IOException("Unknown WebSocket instruction: " + value);
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.greenscreens.quark.annotations.ExtJSCache;
+import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.web.ServletUtils;
+import io.greenscreens.quark.websocket.WebSocketSession;
+import jakarta.enterprise.inject.Vetoed;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Bounded LRU cache with expiration for controller method results.
+ * One cache per method and scope (global, http session, websocket session).
+ * Http session caches are kept off-session, keyed by session id,
+ * as results are not serializable, and released by session listener.
+ * Arguments are compared by value, calls with arguments without
+ * own equals and hashCode are not cached, as they would never match.
+ */
+@Vetoed
+public final class QuarkResultCache {
+
+	private static final String STORE_KEY = "io.greenscreens.quark.cache";
+
+	private static final Map<Long, QuarkResultCache> GLOBAL = new ConcurrentHashMap<>();
+	private static final Map<String, Map<Long, QuarkResultCache>> SESSIONS = new ConcurrentHashMap<>();
+
+	private static final ClassValue<Boolean> COMPARABLE = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			try {
+				return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class
+						&& type.getMethod("hashCode").getDeclaringClass() != Object.class;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+	};
+
+	private final long ttl;
+	private final Map<Key, Entry> entries;
+
+	QuarkResultCache(final ExtJSCache cache) {
+		super();
+		this.ttl = TimeUnit.SECONDS.toNanos(cache.ttl());
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+				return size() > cache.size();
+			}
+		};
+	}
+
+	/**
+	 * Find cached response
+	 * @param params
+	 * @return
+	 */
+	QuarkCachedResponse get(final Object[] params) {
+		final Key key = new Key(params);
+		synchronized (entries) {
+			final Entry entry = entries.get(key);
+			if (Objects.isNull(entry)) return null;
+			if (entry.expires - System.nanoTime() < 0) {
+				entries.remove(key);
+				return null;
+			}
+			return entry.response;
+		}
+	}
+
+	void put(final Object[] params, final QuarkCachedResponse response) {
+		final Entry entry = new Entry(response, System.nanoTime() + ttl);
+		final Key key = new Key(params.clone());
+		synchronized (entries) {
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Get cache for method in scope of current caller,
+	 * null if method is not cached or scope is not available
+	 * @param handler
+	 * @param handle
+	 * @return
+	 */
+	static QuarkResultCache of(final QuarkHandler handler, final IQuarkHandle handle) {
+
+		final ExtJSCache cache = handle.cache();
+		if (Objects.isNull(cache)) return null;
+
+		return switch (cache.scope()) {
+			case GLOBAL -> GLOBAL.computeIfAbsent(handle.id(), k -> new QuarkResultCache(cache));
+			case SESSION -> of(handler.getSession(), handle, cache);
+			case WEBSOCKET -> of(handler.getWsSession(), handle, cache);
+		};
+	}
+
+	/**
+	 * Check if arguments can be used as cache key
+	 * @param params
+	 * @return
+	 */
+	static boolean isCacheable(final Object[] params) {
+		if (Objects.isNull(params)) return true;
+		for (Object param : params) {
+			if (!isComparable(param)) return false;
+		}
+		return true;
+	}
+
+	private static boolean isComparable(final Object value) {
+		if (Objects.isNull(value)) return true;
+		if (value instanceof Object[] array) return isCacheable(array);
+		if (value.getClass().isArray()) return true;
+		if (value instanceof Collection<?> collection) return isCacheable(collection.toArray());
+		if (value instanceof Map<?, ?> map) return isCacheable(map.keySet().toArray()) && isCacheable(map.values().toArray());
+		return COMPARABLE.get(value.getClass());
+	}
+
+	/**
+	 * Session store is created only for valid session, and checked again after,
+	 * so call in progress can not restore store released by session listener
+	 */
+	private static QuarkResultCache of(final HttpSession session, final IQuarkHandle handle, final ExtJSCache cache) {
+		if (!ServletUtils.isValidHttpSession(session)) return null;
+		final String id = session.getId();
+		final Map<Long, QuarkResultCache> store = SESSIONS.computeIfAbsent(id, k -> new ConcurrentHashMap<>());
+		if (!ServletUtils.isValidHttpSession(session)) {
+			SESSIONS.remove(id, store);
+			return null;
+		}
+		return store.computeIfAbsent(handle.id(), k -> new QuarkResultCache(cache));
+	}
+
+	/**
+	 * Remove cached results of http session
+	 * @param sessionId
+	 */
+	public static void release(final String sessionId) {
+		if (Objects.isNull(sessionId)) return;
+		SESSIONS.remove(sessionId);
+	}
+
+	private static QuarkResultCache of(final WebSocketSession session, final IQuarkHandle handle, final ExtJSCache cache) {
+		if (Objects.isNull(session)) return null;
+		Map<Long, QuarkResultCache> store = store(session.get(STORE_KEY));
+		if (Objects.isNull(store)) {
+			synchronized (session) {
+				store = store(session.get(STORE_KEY));
+				if (Objects.isNull(store)) {
+					store = new ConcurrentHashMap<>();
+					session.set(STORE_KEY, store);
+				}
+			}
+		}
+		return store.computeIfAbsent(handle.id(), k -> new QuarkResultCache(cache));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<Long, QuarkResultCache> store(final Object value) {
+		return value instanceof Map ? (Map<Long, QuarkResultCache>) value : null;
+	}
+
+	private static final class Entry {
+
+		final QuarkCachedResponse response;
+		final long expires;
+
+		Entry(final QuarkCachedResponse response, final long expires) {
+			this.response = response;
+			this.expires = expires;
+		}
+	}
+
+	private static final class Key {
+
+		final Object[] args;
+		final int hash;
+
+		Key(final Object[] args) {
+			this.args = args;
+			this.hash = Arrays.deepHashCode(args);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof Key)) return false;
+			final Key other = (Key) obj;
+			return hash == other.hash && Arrays.deepEquals(args, other.args);
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Shared timer for batch flush and call deadlines.
+ * Tasks must be short, real work is never executed in timer thread.
+ */
+@Vetoed
+enum QuarkScheduler {
+;
+
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform().name("quark-timer").daemon().factory());
+
+	/**
+	 * Schedule task execution
+	 * @param task
+	 * @param delay - in milliseconds
+	 * @return
+	 */
+	static ScheduledFuture<?> schedule(final Runnable task, final long delay) {
+		return TIMER.schedule(task, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Hand work off from timer thread to a new virtual thread,
+	 * timer task should only change state and call this
+	 * @param name - thread name
+	 * @param task
+	 */
+	static void offload(final String name, final Runnable task) {
+		Thread.ofVirtual().name(name).start(task);
+	}
+
+}
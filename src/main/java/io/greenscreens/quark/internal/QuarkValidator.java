@@ -4,25 +4,31 @@
 package io.greenscreens.quark.internal;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.greenscreens.quark.annotations.ExtName;
 import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.reflection.internal.QuarkMapper;
 import io.greenscreens.quark.util.QuarkUtil;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ElementKind;
 import jakarta.validation.Path.Node;
 import jakarta.validation.Path.ParameterNode;
 import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
 import jakarta.validation.executable.ExecutableValidator;
+import jakarta.validation.metadata.MethodDescriptor;
 
 /**
  * Internal reflection util that handle JSON t oControlelr mappings.  
@@ -33,6 +39,11 @@ public enum QuarkValidator {
 	private static final Logger LOG = LoggerFactory.getLogger(QuarkValidator.class);
 
 	private static ValidatorFactory factory = null;	
+	private static Validator validator = null;
+	private static ExecutableValidator executables = null;
+
+	// per method constraint metadata, keyed by handle id
+	private static final Map<Long, Plan> plans = new ConcurrentHashMap<>();
 	
 	/**
 	 * Helper method to validate calling method arguments annotated with JSR-380
@@ -48,7 +59,8 @@ public enum QuarkValidator {
 			return;
 		}
 
-		if (Objects.isNull(factory)) {
+		final ExecutableValidator executables = QuarkValidator.executables;
+		if (Objects.isNull(executables)) {
 			LOG.warn("Validation factory not initialized! Unable to validate Quark Engine call parameters.");
 			return;
 		}
@@ -58,8 +70,12 @@ public enum QuarkValidator {
 			return;
 		}
 		
-		final ExecutableValidator validator = factory.getValidator().forExecutables();
-		final Set<ConstraintViolation<Object>> violations = validator.validateParameters(instance, handle.method(), params);
+		final Plan plan = plan(handle);
+		if (!plan.constrained) {
+			return;
+		}
+
+		final Set<ConstraintViolation<Object>> violations = executables.validateParameters(instance, handle.method(), params);
 
 		if (!violations.isEmpty()) {
 			final String message = describeValidations(handle, violations);
@@ -102,15 +118,14 @@ public enum QuarkValidator {
 	 */
 	public static void describeNode(final IQuarkHandle handle, final StringBuilder builder, final Node node) {
 		if (Objects.isNull(handle.method())) return;
-		final Parameter [] parameters = handle.method().getParameters();
 		if (node.getKind() == ElementKind.PARAMETER) {						
 			final ParameterNode pNode = (ParameterNode) node;
 			final int index = pNode.getParameterIndex();
-			final Parameter par = parameters[(int) index];
-			final ExtName name = par.getAnnotation(ExtName.class);
+			final String[] labels = plan(handle).labels;
+			final String name = index < labels.length ? labels[index] : null;
 			
 			if (Objects.nonNull(name)) {
-				builder.append(par.getAnnotation(ExtName.class).value());
+				builder.append(name);
 				builder.append(" - ");
 			}
 		}
@@ -122,7 +137,10 @@ public enum QuarkValidator {
 	 */
 	public static void releaseValidator() {
 	    Optional.ofNullable(factory).ifPresent(f -> f.close());
+	    executables = null;
+	    validator = null;
 	    factory = null;
+	    plans.clear();
 	}
 	
 	/**
@@ -132,10 +150,67 @@ public enum QuarkValidator {
 		if (Objects.nonNull(factory)) return;
 		try {
 			factory = Validation.buildDefaultValidatorFactory();
+			validator = factory.getValidator();
+			executables = validator.forExecutables();
+			plans.clear();
+			prepare();
+		} catch (Exception e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.warn(msg);
+			LOG.debug(msg, e);
+		}
+	}
+
+	/**
+	 * Inspect constraint metadata of all exposed methods with validation enabled
+	 */
+	private static void prepare() {
+		QuarkMapper.beans().stream()
+			.flatMap(b -> b.handles().stream())
+			.filter(IQuarkHandle::isValidate)
+			.forEach(QuarkValidator::plan);
+	}
+
+	private static Plan plan(final IQuarkHandle handle) {
+		return plans.computeIfAbsent(handle.id(), k -> new Plan(handle.method(), isConstrained(handle.method())));
+	}
+
+	/**
+	 * Check if method has constrained or cascaded parameters
+	 * @param method
+	 * @return
+	 */
+	private static boolean isConstrained(final Method method) {
+		final Validator validator = QuarkValidator.validator;
+		if (Objects.isNull(validator)) return true;
+		try {
+			final MethodDescriptor descriptor = validator.getConstraintsForClass(method.getDeclaringClass())
+					.getConstraintsForMethod(method.getName(), method.getParameterTypes());
+			return Objects.nonNull(descriptor) && descriptor.hasConstrainedParameters();
 		} catch (Exception e) {
 			final String msg = QuarkUtil.toMessage(e);
 			LOG.warn(msg);
 			LOG.debug(msg, e);
+			return true;
+		}
+	}
+
+	/**
+	 * Precomputed validation metadata for a method
+	 */
+	private static final class Plan {
+
+		final boolean constrained;
+		final String[] labels;
+
+		Plan(final Method method, final boolean constrained) {
+			this.constrained = constrained;
+			final Parameter[] parameters = method.getParameters();
+			this.labels = new String[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				final ExtName name = parameters[i].getAnnotation(ExtName.class);
+				labels[i] = Objects.isNull(name) ? null : name.value();
+			}
 		}
 	}
 
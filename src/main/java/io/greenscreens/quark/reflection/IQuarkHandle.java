@@ -5,7 +5,10 @@ package io.greenscreens.quark.reflection;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.List;
 
+import io.greenscreens.quark.annotations.ExtJSCache;
+import io.greenscreens.quark.async.QuarkBulkhead;
 import io.greenscreens.quark.cdi.IDestructibleBeanInstance;
 import jakarta.enterprise.inject.spi.AnnotatedMethod;
 import jakarta.enterprise.inject.spi.AnnotatedParameter;
@@ -41,7 +44,19 @@ public interface IQuarkHandle {
 	 * @throws IllegalAccessException
 	 */
 	MethodHandle methodHandle() throws NoSuchMethodException, IllegalAccessException;
+
+	/**
+	 * Compiled method invoker, created at scan time
+	 * @return
+	 */
+	IQuarkInvoker invoker();
 	
+	/**
+	 * Immutable parameter binding plan, created at scan time
+	 * @return
+	 */
+	List<IQuarkParameter> parameters();
+
 	/**
 	 * Annotated method with parameters
 	 * @return
@@ -78,6 +93,36 @@ public interface IQuarkHandle {
 	 */
 	boolean isValidate();
 	
+	/**
+	 * Execution lane name, null for default async execution
+	 * @return
+	 */
+	String lane();
+	
+	/**
+	 * Max execution time in milliseconds, 0 if not limited
+	 * @return
+	 */
+	long timeout();
+	
+	/**
+	 * Result cache definition, null if not cached
+	 * @return
+	 */
+	ExtJSCache cache();
+	
+	/**
+	 * Concurrency limit for the method
+	 * @return null if not limited
+	 */
+	QuarkBulkhead bulkhead();
+	
+	/**
+	 * Concurrency limit shared by all bean methods
+	 * @return null if not limited
+	 */
+	QuarkBulkhead beanBulkhead();
+	
 	/**
 	 * Check if access to the exposed methods are enabled
 	 * @return
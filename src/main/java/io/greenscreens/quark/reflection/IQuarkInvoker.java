@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.reflection;
+
+/**
+ * Compiled bean method invoker, generated once per exposed method at scan time.
+ * Methods with up to 4 arguments are linked through LambdaMetafactory,
+ * so a call has no argument spreading and no generic MethodHandle invocation.
+ *
+ * Nested interfaces are call shapes used by generated invokers,
+ * they must be public as generated classes are defined in the bean class loader.
+ */
+@FunctionalInterface
+public interface IQuarkInvoker {
+
+	/**
+	 * Invoke bean method
+	 * @param bean - bean instance
+	 * @param args - method arguments
+	 * @return method result or null for void methods
+	 * @throws Throwable
+	 */
+	Object invoke(final Object bean, final Object[] args) throws Throwable;
+
+	@FunctionalInterface
+	public interface Call0 { Object call(Object bean) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Call1 { Object call(Object bean, Object a0) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Call2 { Object call(Object bean, Object a0, Object a1) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Call3 { Object call(Object bean, Object a0, Object a1, Object a2) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Call4 { Object call(Object bean, Object a0, Object a1, Object a2, Object a3) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Run0 { void call(Object bean) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Run1 { void call(Object bean, Object a0) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Run2 { void call(Object bean, Object a0, Object a1) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Run3 { void call(Object bean, Object a0, Object a1, Object a2) throws Throwable; }
+
+	@FunctionalInterface
+	public interface Run4 { void call(Object bean, Object a0, Object a1, Object a2, Object a3) throws Throwable; }
+
+}
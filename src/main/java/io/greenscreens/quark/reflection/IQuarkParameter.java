@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Precomputed binding plan for a single exposed method parameter.
+ * Created once at scan time and shared by all calls.
+ */
+public interface IQuarkParameter {
+
+	/**
+	 * Parameter position in method signature
+	 * @return
+	 */
+	int index();
+
+	/**
+	 * Generic parameter type
+	 * @return
+	 */
+	Type type();
+
+	/**
+	 * Is parameter annotated with @Required
+	 * @return
+	 */
+	boolean isRequired();
+
+	/**
+	 * Convert JSON argument to parameter value
+	 * @param node
+	 * @return
+	 * @throws IOException
+	 */
+	Object bind(final JsonNode node) throws IOException;
+
+	/**
+	 * Read parameter value directly from JSON stream.
+	 * Parser must be positioned at the first token of the value,
+	 * after the call it is positioned at the last token of the value.
+	 * @param parser
+	 * @return
+	 * @throws IOException
+	 */
+	Object read(final JsonParser parser) throws IOException;
+
+}
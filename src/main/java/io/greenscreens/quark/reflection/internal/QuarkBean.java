@@ -11,11 +11,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
-import io.greenscreens.quark.QuarkEngine;
 import io.greenscreens.quark.annotations.ExtJSAction;
 import io.greenscreens.quark.annotations.ExtJSDirect;
 import io.greenscreens.quark.annotations.ExtJSMethod;
-import io.greenscreens.quark.cdi.BeanManagerUtil;
+import io.greenscreens.quark.cdi.BeanInstanceProvider;
 import io.greenscreens.quark.cdi.IDestructibleBeanInstance;
 import io.greenscreens.quark.reflection.IQuarkBean;
 import io.greenscreens.quark.reflection.IQuarkHandle;
@@ -29,11 +28,15 @@ import jakarta.enterprise.inject.spi.Bean;
 final class QuarkBean implements IQuarkBean {
 
 	private final Bean<?> bean;
+	private final BeanInstanceProvider<?> provider;
+	private final String[] paths;
 	private final Collection<IQuarkHandle> handles;
 
 	public QuarkBean(final Bean<?> bean) {
 		super();
 		this.bean = bean;
+		this.provider = BeanInstanceProvider.create(bean);
+		this.paths = ReflectionUtil.paths(bean.getBeanClass());
 		handles = initialize();
 	}
 
@@ -46,7 +49,7 @@ final class QuarkBean implements IQuarkBean {
 		for (Method method : methods ) {
 			final ExtJSMethod annotation = method.getAnnotation(ExtJSMethod.class);
 			if (Objects.nonNull(annotation)) {
-				collection.add(new QuarkHandle(bean, method));
+				collection.add(new QuarkHandle(bean, method, provider));
 			}			
 		}
 		
@@ -70,22 +73,22 @@ final class QuarkBean implements IQuarkBean {
 
 	@Override
 	public String[] paths() {
-		return ReflectionUtil.paths(bean.getBeanClass());
+		return paths.clone();
 	}
 	
 	@Override
 	public boolean accept(final String url) {
 		if (QuarkUtil.isEmpty(url)) return false;
-		final List<String> paths = Arrays.asList(paths());
-		return paths.contains(url) || paths.contains("*");
+		final List<String> list = Arrays.asList(paths);
+		return list.contains(url) || list.contains("*");
 	}
 	
 	@Override
 	public boolean accept(final Collection<String> uri) {
 		if (Objects.isNull(uri)) return false;
-		final List<String> paths = new ArrayList<>(Arrays.asList(paths()));
-		paths.retainAll(uri);
-		return !paths.isEmpty();
+		final List<String> list = new ArrayList<>(Arrays.asList(paths));
+		list.retainAll(uri);
+		return !list.isEmpty();
 	}
 		
 	@Override
@@ -95,7 +98,7 @@ final class QuarkBean implements IQuarkBean {
 
 	@Override
 	public IDestructibleBeanInstance<?> instance() {
-		return QuarkEngine.of(BeanManagerUtil.class).getDestructibleBeanInstance(bean());
+		return provider.get();
 	}
 
 }
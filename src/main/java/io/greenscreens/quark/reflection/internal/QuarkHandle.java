@@ -5,13 +5,18 @@ package io.greenscreens.quark.reflection.internal;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
 import io.greenscreens.quark.QuarkEngine;
-import io.greenscreens.quark.cdi.BeanManagerUtil;
+import io.greenscreens.quark.annotations.ExtJSCache;
+import io.greenscreens.quark.async.QuarkBulkhead;
+import io.greenscreens.quark.cdi.BeanInstanceProvider;
 import io.greenscreens.quark.cdi.IDestructibleBeanInstance;
 import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.reflection.IQuarkInvoker;
+import io.greenscreens.quark.reflection.IQuarkParameter;
 import io.greenscreens.quark.util.ReflectionUtil;
 import jakarta.enterprise.inject.spi.AnnotatedMethod;
 import jakarta.enterprise.inject.spi.AnnotatedParameter;
@@ -25,16 +30,42 @@ final class QuarkHandle implements IQuarkHandle {
 
 	final long id;
 	final Bean<?> bean;
+	final BeanInstanceProvider<?> provider;
 	final Method method;
+	final IQuarkInvoker invoker;
+	final List<IQuarkParameter> parameters;
+	final ExtJSCache cache;
+	final long timeout;
+	final String lane;
+	final String label;
+	final QuarkBulkhead bulkhead;
+	final QuarkBulkhead beanBulkhead;
 	AnnotatedMethod<AnnotatedParameter<?>> annotatedMethod; 
 	MethodHandle methodHandle;
 	Boolean asyncResponder = null;
 	
-	public QuarkHandle(final Bean<?> bean, final Method method) {
+	public QuarkHandle(final Bean<?> bean, final Method method, final BeanInstanceProvider<?> provider) {
 		super();
 		this.bean = bean;
+		this.provider = provider;
 		this.method = method;
 		this.id = Integer.toUnsignedLong(method.toString().hashCode());
+		this.invoker = toInvoker(method);
+		this.parameters = List.of(QuarkParameter.create(method));
+		this.cache = ReflectionUtil.isVoid(method) ? null : method.getAnnotation(ExtJSCache.class);
+		this.timeout = ReflectionUtil.timeout(method);
+		this.lane = ReflectionUtil.lane(method);
+		this.label = String.format("%s@%s.%s", name(), bean.getBeanClass().getName(), method.getName());
+		this.bulkhead = QuarkBulkhead.of(toString(), ReflectionUtil.bulkhead(method));
+		this.beanBulkhead = QuarkBulkhead.of(bean.getBeanClass().getName(), ReflectionUtil.bulkhead(bean.getBeanClass()));
+	}
+
+	private static IQuarkInvoker toInvoker(final Method method) {
+		try {
+			return QuarkMapper.toInvoker(method);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	@Override
@@ -65,6 +96,16 @@ final class QuarkHandle implements IQuarkHandle {
 		return methodHandle;
 	}
 
+	@Override
+	public IQuarkInvoker invoker() {
+		return invoker;
+	}
+
+	@Override
+	public List<IQuarkParameter> parameters() {
+		return parameters;
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })	
 	@Override
 	public AnnotatedMethod<AnnotatedParameter<?>> annotatedMethod(){
@@ -96,6 +137,31 @@ final class QuarkHandle implements IQuarkHandle {
 		return ReflectionUtil.isValidate(method);
 	}
 	
+	@Override
+	public String lane() {
+		return lane;
+	}
+	
+	@Override
+	public long timeout() {
+		return timeout;
+	}
+	
+	@Override
+	public ExtJSCache cache() {
+		return cache;
+	}
+
+	@Override
+	public QuarkBulkhead bulkhead() {
+		return bulkhead;
+	}
+
+	@Override
+	public QuarkBulkhead beanBulkhead() {
+		return beanBulkhead;
+	}
+
     @Override
     public boolean isProtected() {
         return ReflectionUtil.isProtected(method) || ReflectionUtil.isProtected(method.getDeclaringClass());
@@ -113,7 +179,7 @@ final class QuarkHandle implements IQuarkHandle {
 
 	@Override
 	public IDestructibleBeanInstance<?> instance() {
-		return QuarkEngine.of(BeanManagerUtil.class).getDestructibleBeanInstance(bean());
+		return provider.get();
 	}
 	
 	@Override
@@ -131,7 +197,7 @@ final class QuarkHandle implements IQuarkHandle {
 
 	@Override
 	public String toString() {
-		return String.format("%s@%s.%s", name(), bean.getBeanClass().getName(), method.getName());
+		return label;
 	}
 	
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.reflection.internal;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.greenscreens.quark.reflection.IQuarkInvoker;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Call0;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Call1;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Call2;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Call3;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Call4;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Run0;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Run1;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Run2;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Run3;
+import io.greenscreens.quark.reflection.IQuarkInvoker.Run4;
+import io.greenscreens.quark.util.QuarkUtil;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Generates exact typed invokers for exposed bean methods.
+ * Primitive arguments are unboxed and results boxed inside generated code.
+ * Methods with more than 4 arguments or not accessible to LambdaMetafactory
+ * fall back to a spreader handle invoked with invokeExact.
+ */
+@Vetoed
+enum QuarkInvokerFactory {
+;
+	private static final Logger LOG = LoggerFactory.getLogger(QuarkInvokerFactory.class);
+
+	private static final int MAX_ARGS = 4;
+	private static final String NAME = "call";
+
+	private static final Class<?>[] CALLS = { Call0.class, Call1.class, Call2.class, Call3.class, Call4.class };
+	private static final Class<?>[] RUNS = { Run0.class, Run1.class, Run2.class, Run3.class, Run4.class };
+
+	private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	/**
+	 * Create invoker for given method
+	 * @param lookup
+	 * @param method
+	 * @return
+	 * @throws NoSuchMethodException
+	 * @throws IllegalAccessException
+	 */
+	static IQuarkInvoker create(final Lookup lookup, final Method method) throws NoSuchMethodException, IllegalAccessException {
+
+		final int count = method.getParameterCount();
+		final boolean compile = count <= MAX_ARGS && !Modifier.isStatic(method.getModifiers());
+
+		if (compile) {
+			try {
+				return compile(lookup, method);
+			} catch (Throwable e) {
+				final String msg = QuarkUtil.toMessage(e);
+				LOG.warn("Unable to compile invoker for {}, using method handle: {}", method, msg);
+				LOG.debug(msg, e);
+			}
+		}
+
+		return spreader(lookup, method);
+	}
+
+	/**
+	 * Link method through LambdaMetafactory. Generated class is defined
+	 * as a nestmate of the bean class, so it is resolvable within bean class loader.
+	 */
+	private static IQuarkInvoker compile(final Lookup lookup, final Method method) throws Throwable {
+
+		final int count = method.getParameterCount();
+		final boolean isVoid = method.getReturnType() == void.class;
+
+		final Lookup caller = MethodHandles.privateLookupIn(method.getDeclaringClass(), lookup);
+		final MethodHandle target = caller.unreflect(method);
+
+		final Class<?> type = isVoid ? RUNS[count] : CALLS[count];
+		final Class<?> rtype = isVoid ? void.class : Object.class;
+		final MethodType erased = MethodType.genericMethodType(count + 1).changeReturnType(rtype);
+		final MethodType instantiated = isVoid ? target.type().wrap().changeReturnType(void.class) : target.type().wrap();
+
+		final CallSite site = LambdaMetafactory.metafactory(caller, NAME, MethodType.methodType(type), erased, target, instantiated);
+		final Object fn = site.getTarget().invoke();
+
+		return isVoid ? toRunner(fn, count) : toCaller(fn, count);
+	}
+
+	private static IQuarkInvoker toCaller(final Object fn, final int count) {
+		return switch (count) {
+			case 0 -> { final Call0 c = (Call0) fn; yield (bean, args) -> c.call(bean); }
+			case 1 -> { final Call1 c = (Call1) fn; yield (bean, args) -> c.call(bean, args[0]); }
+			case 2 -> { final Call2 c = (Call2) fn; yield (bean, args) -> c.call(bean, args[0], args[1]); }
+			case 3 -> { final Call3 c = (Call3) fn; yield (bean, args) -> c.call(bean, args[0], args[1], args[2]); }
+			case 4 -> { final Call4 c = (Call4) fn; yield (bean, args) -> c.call(bean, args[0], args[1], args[2], args[3]); }
+			default -> throw new IllegalArgumentException("Unsupported number of arguments: " + count);
+		};
+	}
+
+	private static IQuarkInvoker toRunner(final Object fn, final int count) {
+		return switch (count) {
+			case 0 -> { final Run0 c = (Run0) fn; yield (bean, args) -> { c.call(bean); return null; }; }
+			case 1 -> { final Run1 c = (Run1) fn; yield (bean, args) -> { c.call(bean, args[0]); return null; }; }
+			case 2 -> { final Run2 c = (Run2) fn; yield (bean, args) -> { c.call(bean, args[0], args[1]); return null; }; }
+			case 3 -> { final Run3 c = (Run3) fn; yield (bean, args) -> { c.call(bean, args[0], args[1], args[2]); return null; }; }
+			case 4 -> { final Run4 c = (Run4) fn; yield (bean, args) -> { c.call(bean, args[0], args[1], args[2], args[3]); return null; }; }
+			default -> throw new IllegalArgumentException("Unsupported number of arguments: " + count);
+		};
+	}
+
+	/**
+	 * Generic fallback, handle is adapted once to (Object, Object[])Object
+	 * so every call is an exact invocation.
+	 */
+	private static IQuarkInvoker spreader(final Lookup lookup, final Method method) throws NoSuchMethodException, IllegalAccessException {
+
+		final int count = method.getParameterCount();
+		MethodHandle handle = lookup.unreflect(method);
+
+		if (Modifier.isStatic(method.getModifiers())) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+
+		final MethodHandle exact = handle.asSpreader(1, Object[].class, count).asType(GENERIC);
+		return (bean, args) -> (Object) exact.invokeExact(bean, args);
+	}
+
+}
@@ -8,7 +8,6 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.reflect.Method;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -17,6 +16,7 @@ import java.util.stream.Collectors;
 import io.greenscreens.quark.annotations.ExtJSDirectLiteral;
 import io.greenscreens.quark.reflection.IQuarkBean;
 import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.reflection.IQuarkInvoker;
 import jakarta.enterprise.inject.Vetoed;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
@@ -28,8 +28,7 @@ import jakarta.enterprise.inject.spi.BeanManager;
 public enum QuarkMapper {
 ;
 	private final static Lookup lookup;
-	private final static QuarkHandleCollection methods = new QuarkHandleCollection();
-	private final static QuarkBeanCollection handles = new QuarkBeanCollection();
+	private static volatile QuarkRouteTable table = QuarkRouteTable.EMPTY;
 	
 	static {
 		lookup = MethodHandles.lookup();
@@ -41,16 +40,22 @@ public enum QuarkMapper {
 	 * their exposed methods with MethodHandler, a modern Java reflection API
 	 * 
 	 * Each method has its own QuarkHandler instance with unique ID used at the front end side
+	 * 
+	 * After scan, dispatch table is frozen, so lookups do not depend on number of controllers.
 	 *   
 	 * @param beanManager
 	 */
-	public static void scan(final BeanManager beanManager) {
+	public static synchronized void scan(final BeanManager beanManager) {
 		final ExtJSDirectLiteral type = new ExtJSDirectLiteral();
 		final Set<Bean<?>> beans = beanManager.getBeans(Object.class, type);
+		final QuarkBeanCollection handles = new QuarkBeanCollection();
+		handles.addAll(table.beans());
 		for (Bean<?> bean : beans) {
+			if (Objects.nonNull(table.find(bean))) continue;
 			final IQuarkBean handle = register(bean);
 			if (!handle.handles().isEmpty()) handles.add(handle);
-		}		
+		}
+		table = new QuarkRouteTable(handles);
 	}
 	
 	/**
@@ -59,7 +64,17 @@ public enum QuarkMapper {
 	 * @return
 	 */
 	public static IQuarkHandle get(final long handle) {
-		return methods.get(handle);
+		return table.get(handle);
+	}
+
+	/**
+	 * Check if method is allowed to be called from given endpoint path 
+	 * @param handle
+	 * @param uri
+	 * @return
+	 */
+	public static boolean accept(final IQuarkHandle handle, final String uri) {
+		return Objects.nonNull(handle) && table.accept(handle.id(), uri);
 	}
 	
 	/**
@@ -70,9 +85,7 @@ public enum QuarkMapper {
 	 * @return
 	 */
 	static IQuarkBean register(final Bean<?> bean) {		
-		final QuarkBean beanHandle = new QuarkBean(bean);
-		beanHandle.handles().forEach(h -> methods.put(h.id(), h));
-		return beanHandle;
+		return new QuarkBean(bean);
 	}
 	
 	/**
@@ -93,13 +106,24 @@ public enum QuarkMapper {
 		*/
 	}
 
+	/**
+	 * Generate compiled invoker for java Method
+	 * @param method
+	 * @return
+	 * @throws NoSuchMethodException
+	 * @throws IllegalAccessException
+	 */
+	static IQuarkInvoker toInvoker(final Method method) throws NoSuchMethodException, IllegalAccessException {
+		return QuarkInvokerFactory.create(lookup, method);
+	}
+
 	/**
 	 * Find Mapped bean in cache if already processed
 	 * @param bean
 	 * @return
 	 */
 	public static Optional<IQuarkBean> find(final Bean<?> bean) {
-		return handles.stream().filter(b -> b.bean() == bean).findFirst();
+		return Optional.ofNullable(table.find(bean));
 	}
 	
 	public static Optional<IQuarkBean> find(final IQuarkHandle handle) {
@@ -115,7 +139,7 @@ public enum QuarkMapper {
 	 * @return
 	 */
 	public static Collection<IQuarkBean> beans() {
-		return Collections.unmodifiableCollection(handles);
+		return table.beans();
 	}
 	
 	/**
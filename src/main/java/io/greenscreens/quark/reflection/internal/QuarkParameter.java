@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.reflection.internal;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.greenscreens.quark.cdi.Required;
+import io.greenscreens.quark.reflection.IQuarkParameter;
+import io.greenscreens.quark.util.QuarkJson;
+import io.greenscreens.quark.util.QuarkUtil;
+import io.greenscreens.quark.util.ReflectionUtil;
+
+/**
+ * Parameter binder with cached JSON reader.
+ * Simple types are converted directly from JSON node when node type matches,
+ * all other values go through cached ObjectReader.
+ */
+final class QuarkParameter implements IQuarkParameter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(QuarkParameter.class);
+
+	private enum Kind { STRING, INT, LONG, BOOLEAN, DOUBLE, COLLECTION, OBJECT }
+
+	private final int index;
+	private final Type type;
+	private final Kind kind;
+	private final boolean required;
+	private final ObjectReader reader;
+
+	QuarkParameter(final int index, final Parameter parameter, final Type type) {
+		super();
+		this.index = index;
+		this.type = type;
+		this.kind = toKind(type);
+		this.required = parameter.isAnnotationPresent(Required.class);
+		this.reader = kind == Kind.COLLECTION ? QuarkJson.collectionReader(type) : QuarkJson.reader(type);
+	}
+
+	@Override
+	public int index() {
+		return index;
+	}
+
+	@Override
+	public Type type() {
+		return type;
+	}
+
+	@Override
+	public boolean isRequired() {
+		return required;
+	}
+
+	@Override
+	public Object bind(final JsonNode node) throws IOException {
+
+		if (Objects.isNull(node)) return null;
+
+		switch (kind) {
+		case STRING:
+			if (node.isTextual()) return node.textValue();
+			break;
+		case INT:
+			if (node.isInt()) return node.intValue();
+			break;
+		case LONG:
+			if (node.isIntegralNumber() && node.canConvertToLong()) return node.longValue();
+			break;
+		case BOOLEAN:
+			if (node.isBoolean()) return node.booleanValue();
+			break;
+		case DOUBLE:
+			if (node.isNumber()) return node.doubleValue();
+			break;
+		case COLLECTION:
+			return toCollection(node);
+		default:
+			break;
+		}
+
+		return reader.readValue(node);
+	}
+
+	@Override
+	public Object read(final JsonParser parser) throws IOException {
+
+		final JsonToken token = parser.currentToken();
+
+		switch (kind) {
+		case STRING:
+			if (token == JsonToken.VALUE_STRING) return parser.getText();
+			break;
+		case INT:
+			if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == NumberType.INT) return parser.getIntValue();
+			break;
+		case LONG:
+			if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != NumberType.BIG_INTEGER) return parser.getLongValue();
+			break;
+		case BOOLEAN:
+			if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) return parser.getBooleanValue();
+			break;
+		case DOUBLE:
+			if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) return parser.getDoubleValue();
+			break;
+		case COLLECTION:
+			return readCollection(parser);
+		default:
+			break;
+		}
+
+		return reader.readValue(parser);
+	}
+
+	/**
+	 * Collections are lenient, on error, parameter is set to null
+	 * @param node
+	 * @return
+	 */
+	private Object toCollection(final JsonNode node) {
+		try {
+			return reader.readValue(node);
+		} catch (Exception e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.error(msg);
+			LOG.debug(msg, e);
+		}
+		return null;
+	}
+
+	/**
+	 * Streaming variant of lenient collection binding,
+	 * on error, value is skipped and parameter is set to null
+	 * @param parser
+	 * @return
+	 * @throws IOException
+	 */
+	private Object readCollection(final JsonParser parser) throws IOException {
+
+		final JsonStreamContext context = parser.currentToken().isStructStart() ? parser.getParsingContext().getParent() : parser.getParsingContext();
+
+		try {
+			return reader.readValue(parser);
+		} catch (IOException e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.error(msg);
+			LOG.debug(msg, e);
+		}
+
+		while (parser.getParsingContext() != context) {
+			if (Objects.isNull(parser.nextToken())) break;
+		}
+
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s:%s", index, type.getTypeName());
+	}
+
+	private static Kind toKind(final Type type) {
+
+		if (ReflectionUtil.isParameterized(type)) {
+			final Type rtype = ((ParameterizedType) type).getRawType();
+			return ReflectionUtil.isCollection(rtype) ? Kind.COLLECTION : Kind.OBJECT;
+		}
+
+		if (type == String.class) return Kind.STRING;
+		if (type == int.class || type == Integer.class) return Kind.INT;
+		if (type == long.class || type == Long.class) return Kind.LONG;
+		if (type == boolean.class || type == Boolean.class) return Kind.BOOLEAN;
+		if (type == double.class || type == Double.class) return Kind.DOUBLE;
+
+		return Kind.OBJECT;
+	}
+
+	/**
+	 * Build binding plan for all method parameters
+	 * @param method
+	 * @return
+	 */
+	static IQuarkParameter[] create(final Method method) {
+		final Parameter[] parameters = method.getParameters();
+		final Type[] types = method.getGenericParameterTypes();
+		final IQuarkParameter[] binders = new IQuarkParameter[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			binders[i] = new QuarkParameter(i, parameters[i], types[i]);
+		}
+		return binders;
+	}
+
+}
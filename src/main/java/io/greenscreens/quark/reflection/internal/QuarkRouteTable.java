@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.reflection.internal;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.greenscreens.quark.reflection.IQuarkBean;
+import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.util.QuarkUtil;
+import jakarta.enterprise.inject.spi.Bean;
+
+/**
+ * Immutable dispatch table built once after bean scan.
+ * Method id is resolved to a dense index through open addressing
+ * over primitive long keys, every index has a precomputed bitset
+ * of endpoint paths allowed to call it.
+ * On duplicated method id, last registered method wins.
+ */
+final class QuarkRouteTable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(QuarkRouteTable.class);
+
+	static final QuarkRouteTable EMPTY = new QuarkRouteTable(Collections.emptyList());
+
+	private static final String WILDCARD = "*";
+
+	// open addressing slots, -1 is empty
+	private final long[] keys;
+	private final int[] slots;
+	private final int mask;
+
+	// dense index data
+	private final IQuarkHandle[] handles;
+	private final BitSet[] access;
+	private final BitSet wildcard;
+
+	private final Map<String, Integer> paths;
+	private final Map<Bean<?>, IQuarkBean> beans;
+	private final List<IQuarkBean> list;
+
+	QuarkRouteTable(final Collection<IQuarkBean> source) {
+		super();
+
+		final int count = source.stream().mapToInt(b -> b.handles().size()).sum();
+		final int capacity = capacity(count);
+
+		this.keys = new long[capacity];
+		this.slots = new int[capacity];
+		this.mask = capacity - 1;
+		this.wildcard = new BitSet(count);
+
+		final IQuarkHandle[] handleIndex = new IQuarkHandle[count];
+		final BitSet[] accessIndex = new BitSet[count];
+
+		Arrays.fill(slots, -1);
+
+		final Map<String, Integer> pathIndex = new HashMap<>();
+		final Map<Bean<?>, IQuarkBean> beanIndex = new IdentityHashMap<>();
+
+		int index = 0;
+		for (IQuarkBean bean : source) {
+
+			beanIndex.put(bean.bean(), bean);
+			final BitSet bits = toBits(bean.paths(), pathIndex);
+			final boolean any = Arrays.asList(bean.paths()).contains(WILDCARD);
+
+			for (IQuarkHandle handle : bean.handles()) {
+				final int existing = put(handle.id(), index);
+				final int slot = existing < 0 ? index++ : existing;
+				if (existing >= 0) LOG.warn("Duplicate method id {}, {} replaces {}", handle.id(), handle, handleIndex[existing]);
+				handleIndex[slot] = handle;
+				accessIndex[slot] = bits;
+				wildcard.set(slot, any);
+			}
+		}
+
+		this.handles = Arrays.copyOf(handleIndex, index);
+		this.access = Arrays.copyOf(accessIndex, index);
+
+		this.paths = Map.copyOf(pathIndex);
+		this.beans = Collections.unmodifiableMap(beanIndex);
+		this.list = List.copyOf(source);
+	}
+
+	/**
+	 * Find method by its public id
+	 * @param id
+	 * @return
+	 */
+	IQuarkHandle get(final long id) {
+		final int index = index(id);
+		return index < 0 ? null : handles[index];
+	}
+
+	/**
+	 * Check if method is callable from given endpoint path
+	 * @param id
+	 * @param uri
+	 * @return
+	 */
+	boolean accept(final long id, final String uri) {
+		if (QuarkUtil.isEmpty(uri)) return false;
+		final int index = index(id);
+		if (index < 0) return false;
+		if (wildcard.get(index)) return true;
+		final Integer path = paths.get(uri);
+		return Objects.nonNull(path) && access[index].get(path);
+	}
+
+	IQuarkBean find(final Bean<?> bean) {
+		return beans.get(bean);
+	}
+
+	List<IQuarkBean> beans() {
+		return list;
+	}
+
+	int size() {
+		return handles.length;
+	}
+
+	private int index(final long id) {
+		int slot = hash(id) & mask;
+		while (slots[slot] >= 0) {
+			if (keys[slot] == id) return slots[slot];
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Register id at index if not registered
+	 * @return index of already registered id, -1 if added
+	 */
+	private int put(final long id, final int index) {
+		int slot = hash(id) & mask;
+		while (slots[slot] >= 0) {
+			if (keys[slot] == id) return slots[slot];
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = id;
+		slots[slot] = index;
+		return -1;
+	}
+
+	private static BitSet toBits(final String[] beanPaths, final Map<String, Integer> pathIndex) {
+		final BitSet bits = new BitSet();
+		for (String path : beanPaths) {
+			final Integer idx = pathIndex.computeIfAbsent(path, k -> pathIndex.size());
+			bits.set(idx);
+		}
+		return bits;
+	}
+
+	private static int hash(final long id) {
+		final long h = id * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Power of two, load factor below 0.5
+	 */
+	private static int capacity(final int count) {
+		return Math.max(16, Integer.highestOneBit(Math.max(1, count) * 2) << 1);
+	}
+
+}
@@ -5,6 +5,7 @@ package io.greenscreens.quark.security;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * AES encryption key used to encrypt/decrypt web requests
@@ -16,6 +17,34 @@ public interface IQuarkKey {
 
     ByteBuffer encrypt(final ByteBuffer data, final ByteBuffer iv) throws IOException;
     ByteBuffer decrypt(final ByteBuffer data, final ByteBuffer iv) throws IOException;
+
+    /**
+     * Encrypt data in place, output length is equal to input length (AES/CTR).
+     * Default implementation copies data, override for in place processing.
+     * @param data
+     * @param offset
+     * @param length
+     * @param iv
+     * @throws IOException
+     */
+    default void encrypt(final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+    	final byte[] result = encrypt(Arrays.copyOfRange(data, offset, offset + length), iv);
+    	System.arraycopy(result, 0, data, offset, length);
+    }
+
+    /**
+     * Decrypt data in place, output length is equal to input length (AES/CTR).
+     * Default implementation copies data, override for in place processing.
+     * @param data
+     * @param offset
+     * @param length
+     * @param iv
+     * @throws IOException
+     */
+    default void decrypt(final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+    	final byte[] result = decrypt(Arrays.copyOfRange(data, offset, offset + length), iv);
+    	System.arraycopy(result, 0, data, offset, length);
+    }
 	
 	boolean isValid();
 	int blockSize();
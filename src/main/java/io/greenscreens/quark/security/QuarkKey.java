@@ -51,6 +51,16 @@ final class QuarkKey implements IQuarkKey {
 	public ByteBuffer decrypt(final ByteBuffer data, final ByteBuffer iv) throws IOException {
 		return key.decrypt(data, iv);
 	}
+
+	@Override
+	public void encrypt(final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+		key.encrypt(data, offset, length, iv);
+	}
+
+	@Override
+	public void decrypt(final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+		key.decrypt(data, offset, length, iv);
+	}
 	
 	public static IQuarkKey create(final IAesKey key){
 		return new QuarkKey(key);
@@ -49,10 +49,7 @@ public enum QuarkSecurity {
 	 * @return
 	 */
 	public static String signApiKey(final String challenge) {
-		final String keyEnc = Security.getPublicKey();
-		final String keyVer = Security.getVerifier();
-		final String data = String.format("%s%s%s", challenge, keyEnc, keyVer);
-		return Security.sign(data, false);
+		return Security.signChallenge(String.valueOf(challenge), false);
 	}
 
     /**
@@ -8,6 +8,7 @@ import java.nio.ByteBuffer;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -20,10 +21,13 @@ import jakarta.enterprise.inject.Vetoed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.greenscreens.quark.stream.QuarkBufferPool;
 import io.greenscreens.quark.util.QuarkUtil;
 
 /**
- * AEC encryption & Decryption utility
+ * AEC encryption & Decryption utility.
+ * Key is shared by concurrent requests, every operation
+ * takes its own Cipher instance from the key pool.
  */
 @Vetoed
 class AesCrypt implements IAesKey {
@@ -40,7 +44,13 @@ class AesCrypt implements IAesKey {
 	private static final String PROVIDER = "SunJCE"; 
 	//private static final String PROVIDER = SecurityProvider.PROVIDER_NAME;
 	
-	private Cipher cipher;
+	// max idle Cipher instances per key
+	private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+	
+	// in place encryption chunk, JCE copies input if it overlaps output
+	private static final int CHUNK = 8 * 1024;
+	
+	private final ArrayBlockingQueue<Cipher> ciphers = new ArrayBlockingQueue<>(POOL_SIZE);
 
 	private SecretKeySpec keyspec;
 	private int size;
@@ -51,9 +61,14 @@ class AesCrypt implements IAesKey {
 	}
 
 	private void initSize() throws IOException {
+		final Cipher cipher = create();
+		size = cipher.getBlockSize();
+		release(cipher);
+	}
+	
+	private static Cipher create() throws IOException {
 		try {
-			cipher = Cipher.getInstance(TRANSFORMATION, PROVIDER);
-			size = cipher.getBlockSize();
+			return Cipher.getInstance(TRANSFORMATION, PROVIDER);
 		} catch (Exception e) {
 			final String msg = QuarkUtil.toMessage(e);
 			LOG.error(msg);
@@ -62,6 +77,15 @@ class AesCrypt implements IAesKey {
 		}
 	}
 	
+	private Cipher acquire() throws IOException {
+		final Cipher cipher = ciphers.poll();
+		return Objects.isNull(cipher) ? create() : cipher;
+	}
+	
+	private void release(final Cipher cipher) {
+		ciphers.offer(cipher);
+	}
+	
 	@Override
 	public boolean isValid() {
 		return size > 0 && Objects.nonNull(keyspec);
@@ -108,49 +132,87 @@ class AesCrypt implements IAesKey {
 	
 	@Override
 	public byte[] encrypt(final byte[] data, final IvParameterSpec ivSpec) throws IOException {
-
-		try {
-			cipher.init(Cipher.ENCRYPT_MODE, keyspec, ivSpec);
-			return cipher.doFinal(data);
-		} catch (IllegalBlockSizeException | BadPaddingException | InvalidKeyException | InvalidAlgorithmParameterException e) {
-			throw new IOException(e);
-		}
-
+		return process(Cipher.ENCRYPT_MODE, data, ivSpec);
 	}
 	
 	@Override
 	public byte[] decrypt(final byte[] data, final IvParameterSpec ivSpec) throws IOException {
-		try {
-			cipher.init(Cipher.DECRYPT_MODE, keyspec, ivSpec);
-			return cipher.doFinal(data);
-		} catch (IllegalBlockSizeException | BadPaddingException | InvalidKeyException | InvalidAlgorithmParameterException e) {
-			throw new IOException(e);
-		}
+		return process(Cipher.DECRYPT_MODE, data, ivSpec);
 	}
 
 	@Override
 	public ByteBuffer encrypt(final ByteBuffer data, final IvParameterSpec ivSpec) throws IOException {
 		final ByteBuffer result = ByteBuffer.allocate(data.limit());
-		try {
-			cipher.init(Cipher.ENCRYPT_MODE, keyspec, ivSpec);
-			cipher.doFinal(data, result);
-		} catch (IllegalBlockSizeException | InvalidKeyException | InvalidAlgorithmParameterException | ShortBufferException | BadPaddingException  e) {
-			throw new IOException(e);
-		}
+		process(Cipher.ENCRYPT_MODE, data, result, ivSpec);
 		return result;
 	}
 
 	@Override
 	public ByteBuffer decrypt(final ByteBuffer data, final IvParameterSpec ivSpec) throws IOException {
 		final ByteBuffer result = ByteBuffer.allocate(data.limit());
+		process(Cipher.DECRYPT_MODE, data, result, ivSpec);
+		result.rewind();
+		return result;
+	}
+	
+	/**
+	 * CTR mode output is same size as input, data is encrypted / decrypted
+	 * in place, in chunks through pooled scratch buffer, without allocation
+	 */
+	@Override
+	public void encrypt(final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+		process(Cipher.ENCRYPT_MODE, data, offset, length, iv);
+	}
+
+	@Override
+	public void decrypt(final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+		process(Cipher.DECRYPT_MODE, data, offset, length, iv);
+	}
+
+	private void process(final int mode, final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+	    final IvParameterSpec vector = AsyncKeyUtil.toVector(iv, null);
+		final Cipher cipher = acquire();
+		final byte[] scratch = QuarkBufferPool.acquire(CHUNK);
 		try {
-			cipher.init(Cipher.DECRYPT_MODE, keyspec, ivSpec);
+			cipher.init(mode, keyspec, vector);
+			final int end = offset + length;
+			int pos = offset;
+			while (pos < end) {
+				final int len = Math.min(scratch.length, end - pos);
+				System.arraycopy(data, pos, scratch, 0, len);
+				pos += cipher.update(scratch, 0, len, data, pos);
+			}
+			cipher.doFinal(scratch, 0, 0, data, end);
+		} catch (IllegalBlockSizeException | InvalidKeyException | InvalidAlgorithmParameterException | ShortBufferException | BadPaddingException  e) {
+			throw new IOException(e);
+		} finally {
+			QuarkBufferPool.release(scratch);
+			release(cipher);
+		}
+	}
+
+	private byte[] process(final int mode, final byte[] data, final IvParameterSpec ivSpec) throws IOException {
+		final Cipher cipher = acquire();
+		try {
+			cipher.init(mode, keyspec, ivSpec);
+			return cipher.doFinal(data);
+		} catch (IllegalBlockSizeException | BadPaddingException | InvalidKeyException | InvalidAlgorithmParameterException e) {
+			throw new IOException(e);
+		} finally {
+			release(cipher);
+		}
+	}
+
+	private void process(final int mode, final ByteBuffer data, final ByteBuffer result, final IvParameterSpec ivSpec) throws IOException {
+		final Cipher cipher = acquire();
+		try {
+			cipher.init(mode, keyspec, ivSpec);
 			cipher.doFinal(data, result);
-			result.rewind();
 		} catch (IllegalBlockSizeException | InvalidKeyException | InvalidAlgorithmParameterException | ShortBufferException | BadPaddingException  e) {
 			throw new IOException(e);
+		} finally {
+			release(cipher);
 		}
-		return result;
 	}
 	
 	@Override
@@ -158,9 +220,16 @@ class AesCrypt implements IAesKey {
 		return size;
 	}
 
+	/**
+	 * New Cipher instance, not shared with the key pool
+	 */
 	@Override
 	public Cipher getCipher() {
-		return cipher;
+		try {
+			return create();
+		} catch (IOException e) {
+			return null;
+		}
 	}
 
 }
@@ -42,6 +42,12 @@ enum AsyncKey {
 	private static String pemVERSGN = null;
 	private static String pemPrivENCDEC = null;
 
+	// flattened public PEM's, exported and signed on every API request
+	private static String flatENCDEC = null;
+	private static String flatVERSGN = null;
+	private static byte[] flatENCDECBytes = null;
+	private static byte[] flatVERSGNBytes = null;
+
 	private static final int BitSize = 384; 
 	private static final String ALGO = "SHA384withECDSA";
 
@@ -77,6 +83,8 @@ enum AsyncKey {
 
 		pemENCDEC = AsyncKeyUtil.toPublicPem(keyPairENCDEC);
 		pemPrivENCDEC = AsyncKeyUtil.toPrivatePem(keyPairENCDEC);
+		flatENCDEC = AsyncKeyUtil.flatten(pemENCDEC);
+		flatENCDECBytes = flatENCDEC.getBytes();
 	}
 
 	static void initVerificator()
@@ -88,6 +96,8 @@ enum AsyncKey {
 			gen.initialize(spec);
 			keyPairVERSGN = gen.generateKeyPair();
 			pemVERSGN = AsyncKeyUtil.toPublicPem(keyPairVERSGN);
+			flatVERSGN = AsyncKeyUtil.flatten(pemVERSGN);
+			flatVERSGNBytes = flatVERSGN.getBytes();
 		}
 	}
 
@@ -116,7 +126,7 @@ enum AsyncKey {
 	 * @return
 	 */
 	static String getPublicEncoder(final boolean flat) {
-		return flat ? AsyncKeyUtil.flatten(pemENCDEC) : pemENCDEC;
+		return flat ? flatENCDEC : pemENCDEC;
 	}
 
 	/**
@@ -136,7 +146,7 @@ enum AsyncKey {
 	 * @return
 	 */
 	static String getPublicVerifier(final boolean flat) {
-		return flat ? AsyncKeyUtil.flatten(pemVERSGN) : pemVERSGN;
+		return flat ? flatVERSGN : pemVERSGN;
 	}
 
 	/**
@@ -193,8 +203,8 @@ enum AsyncKey {
 		final Signature signature = getSignature();
 		signature.initSign(keyPairVERSGN.getPrivate());
 		signature.update(challenge);
-		signature.update(AsyncKeyUtil.flatten(pemENCDEC).getBytes());
-		signature.update(AsyncKeyUtil.flatten(pemVERSGN).getBytes());
+		signature.update(flatENCDECBytes);
+		signature.update(flatVERSGNBytes);
 		final byte[] signedData = signature.sign();
 		return signConvert(signedData);
 	}
@@ -5,6 +5,7 @@ package io.greenscreens.quark.security.override;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
@@ -37,7 +38,33 @@ public interface IAesKey {
 	ByteBuffer encrypt(final ByteBuffer data, final IvParameterSpec ivSpec) throws IOException;
 	ByteBuffer decrypt(final ByteBuffer data, final IvParameterSpec ivSpec) throws IOException;
 
+	/**
+	 * Encrypt data in place, default implementation copies data
+	 * @param data
+	 * @param offset
+	 * @param length
+	 * @param iv
+	 * @throws IOException
+	 */
+	default void encrypt(final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+		final byte[] result = encrypt(Arrays.copyOfRange(data, offset, offset + length), iv);
+		System.arraycopy(result, 0, data, offset, length);
+	}
+
+	/**
+	 * Decrypt data in place, default implementation copies data
+	 * @param data
+	 * @param offset
+	 * @param length
+	 * @param iv
+	 * @throws IOException
+	 */
+	default void decrypt(final byte[] data, final int offset, final int length, final byte[] iv) throws IOException {
+		final byte[] result = decrypt(Arrays.copyOfRange(data, offset, offset + length), iv);
+		System.arraycopy(result, 0, data, offset, length);
+	}
+
 	int getBlockSize();
 
 	Cipher getCipher();
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -8,7 +8,9 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
 import java.security.SecureRandom;
+import java.util.Objects;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
@@ -87,9 +89,18 @@ public enum Security {
 	 * @throws IOException 
 	 */
 	static IAesKey initAESURL(final String k) throws IOException {
+
+		final PrivateKey owner = AsyncKey.getPrivateKey();
+		final String key = SharedSecretCache.toKey(k);
+
+		IAesKey aes = SharedSecretCache.get(key, owner);
+		if (Objects.nonNull(aes)) return aes;
+
 		final boolean isHex = QuarkUtil.isHex(k);	
-		final byte[] aesKey = SharedSecret.generate(k, AsyncKey.getPrivateKey(), isHex);
-		return new AesCrypt(aesKey);
+		final byte[] aesKey = SharedSecret.generate(k, owner, isHex);
+		aes = new AesCrypt(aesKey);
+		SharedSecretCache.put(key, owner, aes);
+		return aes;
 	}
 
 	public static IAesKey initWebKey(final String publicKey) {
@@ -113,6 +124,7 @@ public enum Security {
 	 */
 	public static void generateAsyncKeys() {
 		AsyncKey.initialize();
+		SharedSecretCache.clear();
 	}
 
 	/**
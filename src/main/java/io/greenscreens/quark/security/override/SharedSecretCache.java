@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.security.override;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Bounded LRU cache with expiration for ECDH derived AES keys,
+ * keyed by digest of client public key.
+ * Browser reuses its key pair for the life of a tab,
+ * so reconnects skip EC point decoding and key agreement.
+ * Entries are bound to server private key, and are not used after key rotation.
+ */
+@Vetoed
+public enum SharedSecretCache {
+;
+
+	/**
+	 * Max cached keys, 0 to disable cache
+	 */
+	public static int SIZE = 4096;
+
+	/**
+	 * Time to live of cached key in seconds, 0 to disable cache
+	 */
+	public static int TTL = 30 * 60;
+
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+
+	private static final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+			return size() > SIZE;
+		}
+	};
+
+	/**
+	 * Find cached key for client public key and current server key
+	 * @param key - digest of client public key
+	 * @param owner - server private key
+	 * @return null if not found or expired
+	 */
+	static IAesKey get(final String key, final PrivateKey owner) {
+
+		if (!isEnabled()) return null;
+
+		Entry entry = null;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (Objects.nonNull(entry) && (entry.owner != owner || entry.expires - System.nanoTime() < 0)) {
+				entries.remove(key);
+				entry = null;
+			}
+		}
+
+		if (Objects.isNull(entry)) {
+			misses.increment();
+			return null;
+		}
+
+		hits.increment();
+		return entry.aes;
+	}
+
+	static void put(final String key, final PrivateKey owner, final IAesKey aes) {
+		if (!isEnabled()) return;
+		final Entry entry = new Entry(aes, owner, System.nanoTime() + TimeUnit.SECONDS.toNanos(TTL));
+		synchronized (entries) {
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Cache key for client public key
+	 * @param publicKey
+	 * @return
+	 */
+	static String toKey(final String publicKey) {
+		try {
+			final MessageDigest md = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(md.digest(publicKey.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			return publicKey;
+		}
+	}
+
+	private static boolean isEnabled() {
+		return SIZE > 0 && TTL > 0;
+	}
+
+	/**
+	 * Remove all cached keys
+	 */
+	public static void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	public static int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	private static final class Entry {
+
+		final IAesKey aes;
+		final PrivateKey owner;
+		final long expires;
+
+		Entry(final IAesKey aes, final PrivateKey owner, final long expires) {
+			this.aes = aes;
+			this.owner = owner;
+			this.expires = expires;
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Payload compression codec used in Quark data stream.
+ * Codec id is stored in frame header, so every frame can be decoded
+ * regardless of codec negotiated for the session.
+ * Custom codecs are registered through QuarkCodecs.register
+ * or java.util.ServiceLoader (META-INF/services).
+ * Codecs may support preset dictionary (QuarkDictionary).
+ * Stateful codecs keep compression context for a whole connection.
+ */
+public interface IQuarkCodec {
+
+	/**
+	 * Codec id stored in frame header, 0-15
+	 * @return
+	 */
+	int id();
+
+	/**
+	 * Codec name used in negotiation
+	 * @return
+	 */
+	String name();
+
+	/**
+	 * Compress data into output stream
+	 * @param data
+	 * @param offset
+	 * @param length
+	 * @param out
+	 * @param level - compression level from QuarkCompressionPolicy, codecs without levels ignore it
+	 * @throws IOException
+	 */
+	void compress(final byte[] data, final int offset, final int length, final OutputStream out, final int level) throws IOException;
+
+	/**
+	 * Decompress data into output stream
+	 * @param data
+	 * @param out
+	 * @throws IOException
+	 */
+	void decompress(final ByteBuffer data, final OutputStream out) throws IOException;
+
+	/**
+	 * Check if codec keeps compression context between frames
+	 * @return
+	 */
+	default boolean isStateful() {
+		return false;
+	}
+
+	/**
+	 * Codec instance for a single connection, 
+	 * stateful codecs return new instance
+	 * @return
+	 */
+	default IQuarkCodec forSession() {
+		return this;
+	}
+
+	/**
+	 * Release resources of session instance
+	 */
+	default void release() {
+	}
+
+	/**
+	 * Check if codec uses preset dictionary
+	 * @return
+	 */
+	default boolean isDictionary() {
+		return false;
+	}
+
+	/**
+	 * Compress data with preset dictionary, ignored if not supported
+	 * @param data
+	 * @param offset
+	 * @param length
+	 * @param out
+	 * @param level
+	 * @param dictionary
+	 * @throws IOException
+	 */
+	default void compress(final byte[] data, final int offset, final int length, final OutputStream out, final int level, final byte[] dictionary) throws IOException {
+		compress(data, offset, length, out, level);
+	}
+
+	/**
+	 * Decompress data with preset dictionary, ignored if not supported
+	 * @param data
+	 * @param out
+	 * @param dictionary
+	 * @throws IOException
+	 */
+	default void decompress(final ByteBuffer data, final OutputStream out, final byte[] dictionary) throws IOException {
+		decompress(data, out);
+	}
+
+}
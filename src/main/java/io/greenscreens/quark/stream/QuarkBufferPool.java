@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Size classed byte array pool used by Quark stream codec.
+ * Arrays are in power of two classes from 1 KB to 256 KB,
+ * larger arrays are allocated and never pooled.
+ *
+ * Platform threads (servlet workers) have a one slot per class thread local cache
+ * for classes up to 32 KB, larger classes and other threads (virtual)
+ * use shared lock free stripes selected by thread id.
+ *
+ * Every acquired array must be released once, and must not be used after release.
+ * Only arrays allocated by the pool are retained on release, others are ignored.
+ * In DEBUG mode, unreleased arrays are tracked with their acquisition stack.
+ */
+@Vetoed
+public enum QuarkBufferPool {
+;
+	private static final Logger LOG = LoggerFactory.getLogger(QuarkBufferPool.class);
+
+	private static final int MIN_SHIFT = 10;
+	private static final int MAX_SHIFT = 18;
+	private static final int CLASSES = MAX_SHIFT - MIN_SHIFT + 1;
+	private static final int LOCAL_CLASSES = 15 - MIN_SHIFT + 1;
+
+	public static final int MIN_SIZE = 1 << MIN_SHIFT;
+	public static final int MAX_SIZE = 1 << MAX_SHIFT;
+
+	/**
+	 * Track unreleased arrays
+	 */
+	public static boolean DEBUG = false;
+
+	private static final int STRIPES = stripes();
+	private static final int[] SLOTS = slots();
+
+	// [stripe * CLASSES + class] -> slots
+	private static final AtomicReferenceArray<byte[]>[] SHARED = shared();
+
+	private static final ThreadLocal<byte[][]> LOCAL = ThreadLocal.withInitial(() -> new byte[LOCAL_CLASSES][]);
+
+	// arrays allocated by the pool, weak, so arrays never released are still collected
+	private static final Map<byte[], Boolean>[] OWNED = owned();
+
+	private static final Map<byte[], Throwable> outstanding = new ConcurrentHashMap<>();
+
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+	private static final LongAdder drops = new LongAdder();
+
+	/**
+	 * Get array of at least given size
+	 * @param size
+	 * @return
+	 */
+	public static byte[] acquire(final int size) {
+
+		final int cls = toClass(size);
+		if (cls < 0) {
+			misses.increment();
+			return track(new byte[size]);
+		}
+
+		byte[] buffer = null;
+		final Thread thread = Thread.currentThread();
+
+		if (cls < LOCAL_CLASSES && !thread.isVirtual()) {
+			final byte[][] local = LOCAL.get();
+			buffer = local[cls];
+			local[cls] = null;
+		}
+
+		if (Objects.isNull(buffer)) {
+			buffer = poll(SHARED[stripe(thread) * CLASSES + cls]);
+		}
+
+		if (Objects.isNull(buffer)) {
+			misses.increment();
+			buffer = allocate(cls);
+		} else {
+			hits.increment();
+		}
+
+		return track(buffer);
+	}
+
+	/**
+	 * Return array to pool, arrays not acquired from pool are ignored
+	 * @param buffer
+	 */
+	public static void release(final byte[] buffer) {
+
+		if (Objects.isNull(buffer)) return;
+
+		if (DEBUG && Objects.isNull(outstanding.remove(buffer))) {
+			LOG.warn("Released buffer not acquired from pool, or released twice", new Throwable());
+		}
+
+		final int cls = sizeClass(buffer.length);
+		if (cls < 0 || !isOwned(buffer)) return;
+
+		final Thread thread = Thread.currentThread();
+
+		if (cls < LOCAL_CLASSES && !thread.isVirtual()) {
+			final byte[][] local = LOCAL.get();
+			if (Objects.isNull(local[cls])) {
+				local[cls] = buffer;
+				return;
+			}
+		}
+
+		if (!offer(SHARED[stripe(thread) * CLASSES + cls], buffer)) {
+			drops.increment();
+		}
+	}
+
+	private static byte[] allocate(final int cls) {
+		final byte[] buffer = new byte[1 << (cls + MIN_SHIFT)];
+		final Map<byte[], Boolean> owned = owner(buffer);
+		synchronized (owned) {
+			owned.put(buffer, Boolean.TRUE);
+		}
+		return buffer;
+	}
+
+	private static boolean isOwned(final byte[] buffer) {
+		final Map<byte[], Boolean> owned = owner(buffer);
+		synchronized (owned) {
+			return owned.containsKey(buffer);
+		}
+	}
+
+	/**
+	 * Arrays use identity hash, registry is striped to reduce lock contention
+	 */
+	private static Map<byte[], Boolean> owner(final byte[] buffer) {
+		return OWNED[System.identityHashCode(buffer) & (OWNED.length - 1)];
+	}
+
+	private static byte[] poll(final AtomicReferenceArray<byte[]> slots) {
+		for (int i = 0; i < slots.length(); i++) {
+			final byte[] buffer = slots.get(i);
+			if (Objects.nonNull(buffer) && slots.compareAndSet(i, buffer, null)) return buffer;
+		}
+		return null;
+	}
+
+	private static boolean offer(final AtomicReferenceArray<byte[]> slots, final byte[] buffer) {
+		for (int i = 0; i < slots.length(); i++) {
+			if (Objects.isNull(slots.get(i)) && slots.compareAndSet(i, null, buffer)) return true;
+		}
+		return false;
+	}
+
+	private static byte[] track(final byte[] buffer) {
+		if (DEBUG) outstanding.put(buffer, new Throwable("Buffer acquired, size: " + buffer.length));
+		return buffer;
+	}
+
+	/**
+	 * Smallest class able to hold size, -1 if too large
+	 */
+	private static int toClass(final int size) {
+		if (size <= MIN_SIZE) return 0;
+		if (size > MAX_SIZE) return -1;
+		return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+	}
+
+	/**
+	 * Class of exact pooled array length, -1 if not pooled size
+	 */
+	private static int sizeClass(final int length) {
+		if (length < MIN_SIZE || length > MAX_SIZE || Integer.bitCount(length) != 1) return -1;
+		return Integer.numberOfTrailingZeros(length) - MIN_SHIFT;
+	}
+
+	private static int stripe(final Thread thread) {
+		final long id = thread.threadId();
+		return (int) (id ^ (id >>> 16)) & (STRIPES - 1);
+	}
+
+	private static int stripes() {
+		final int cpu = Runtime.getRuntime().availableProcessors();
+		return Integer.highestOneBit(Math.max(1, cpu - 1) << 1);
+	}
+
+	/**
+	 * Up to 512 KB retained per class in a stripe, min 2, max 8 arrays 
+	 */
+	private static int[] slots() {
+		final int[] slots = new int[CLASSES];
+		for (int i = 0; i < CLASSES; i++) {
+			slots[i] = Math.max(2, Math.min(8, (512 * 1024) >> (i + MIN_SHIFT)));
+		}
+		return slots;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<byte[], Boolean>[] owned() {
+		final Map<byte[], Boolean>[] owned = new Map[STRIPES * 4];
+		for (int i = 0; i < owned.length; i++) {
+			owned[i] = new WeakHashMap<>();
+		}
+		return owned;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static AtomicReferenceArray<byte[]>[] shared() {
+		final AtomicReferenceArray<byte[]>[] shared = new AtomicReferenceArray[STRIPES * CLASSES];
+		for (int i = 0; i < shared.length; i++) {
+			shared[i] = new AtomicReferenceArray<>(SLOTS[i % CLASSES]);
+		}
+		return shared;
+	}
+
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Released arrays not retained as pool was full
+	 * @return
+	 */
+	public static long getDrops() {
+		return drops.sum();
+	}
+
+	/**
+	 * Number of acquired and not released arrays, DEBUG mode only
+	 * @return
+	 */
+	public static int getOutstanding() {
+		return outstanding.size();
+	}
+
+	/**
+	 * Acquisition stacks of not released arrays, DEBUG mode only
+	 * @return
+	 */
+	public static Collection<Throwable> getLeaks() {
+		return Collections.unmodifiableCollection(outstanding.values());
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.greenscreens.quark.util.QuarkUtil;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Registry of payload compression codecs.
+ * Built in codecs are gzip (default), raw deflate, LZ4 
+ * and raw deflate with per connection context,
+ * custom codecs are loaded with ServiceLoader or registered manually,
+ * ids 8-15 are reserved for custom codecs.
+ */
+@Vetoed
+public enum QuarkCodecs {
+;
+
+	private static final Logger LOG = LoggerFactory.getLogger(QuarkCodecs.class);
+
+	public static final int GZIP = 0;
+	public static final int DEFLATE = 1;
+	public static final int LZ4 = 2;
+	public static final int CONTEXT = 3;
+
+	public static final int MAX_ID = 15;
+
+	private static final AtomicReferenceArray<IQuarkCodec> CODECS = new AtomicReferenceArray<>(MAX_ID + 1);
+
+	static {
+		register(new QuarkGzipCodec());
+		register(new QuarkDeflateCodec());
+		register(new QuarkLZ4Codec());
+		register(new QuarkContextCodec());
+		load();
+	}
+
+	/**
+	 * Load custom codecs, invalid provider is logged and skipped
+	 */
+	private static void load() {
+		try {
+			ServiceLoader.load(IQuarkCodec.class, QuarkCodecs.class.getClassLoader()).stream().forEach(QuarkCodecs::load);
+		} catch (ServiceConfigurationError e) {
+			QuarkUtil.printError(e, LOG);
+		}
+	}
+
+	private static void load(final ServiceLoader.Provider<IQuarkCodec> provider) {
+		try {
+			register(provider.get());
+		} catch (ServiceConfigurationError | IllegalArgumentException e) {
+			QuarkUtil.printError(e, LOG);
+		}
+	}
+
+	/**
+	 * Register codec
+	 * @param codec
+	 * @throws IllegalArgumentException if id is out of range or already used
+	 */
+	public static void register(final IQuarkCodec codec) {
+		Objects.requireNonNull(codec);
+		final int id = codec.id();
+		if (id < 0 || id > MAX_ID) throw new IllegalArgumentException("Codec id out of range: " + id);
+		if (!CODECS.compareAndSet(id, null, codec) && CODECS.get(id) != codec) {
+			throw new IllegalArgumentException("Codec id already registered: " + id);
+		}
+	}
+
+	/**
+	 * Get codec by id from frame header
+	 * @param id
+	 * @return null if not registered
+	 */
+	public static IQuarkCodec get(final int id) {
+		return id < 0 || id > MAX_ID ? null : CODECS.get(id);
+	}
+
+	/**
+	 * Get codec by name
+	 * @param name
+	 * @return null if not registered
+	 */
+	public static IQuarkCodec get(final String name) {
+		if (QuarkUtil.isEmpty(name)) return null;
+		for (int i = 0; i <= MAX_ID; i++) {
+			final IQuarkCodec codec = CODECS.get(i);
+			if (Objects.nonNull(codec) && codec.name().equalsIgnoreCase(name.trim())) return codec;
+		}
+		return null;
+	}
+
+	/**
+	 * Default codec, supported by all clients
+	 * @return
+	 */
+	public static IQuarkCodec gzip() {
+		return CODECS.get(GZIP);
+	}
+
+	/**
+	 * Select first supported codec from client preference list
+	 * @param names - comma separated codec names, ordered by preference
+	 * @return default codec if none is supported
+	 */
+	public static IQuarkCodec negotiate(final String names) {
+		if (QuarkUtil.nonEmpty(names)) {
+			for (String name : names.split(",")) {
+				final IQuarkCodec codec = get(name);
+				if (Objects.nonNull(codec)) return codec;
+			}
+		}
+		return gzip();
+	}
+
+	/**
+	 * All registered codecs
+	 * @return
+	 */
+	public static Collection<IQuarkCodec> all() {
+		final List<IQuarkCodec> list = new ArrayList<>();
+		for (int i = 0; i <= MAX_ID; i++) {
+			final IQuarkCodec codec = CODECS.get(i);
+			if (Objects.nonNull(codec)) list.add(codec);
+		}
+		return list;
+	}
+
+}
@@ -4,13 +4,12 @@
 package io.greenscreens.quark.stream;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 
 import io.greenscreens.quark.util.QuarkUtil;
 import jakarta.enterprise.inject.Vetoed;
@@ -38,7 +37,32 @@ enum QuarkCompression {
     }
 
 	public static ByteBuffer asBuffer(final ByteBuffer buffer) throws IOException {	
-        return buffer.hasRemaining() ? asBuffer(new ByteBufferInputStream(buffer), true) : buffer;
+        return asBuffer(buffer, LEVEL);
+    }
+
+	/**
+	 * Compress buffer remaining data with given level
+	 * @param buffer
+	 * @param level
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer asBuffer(final ByteBuffer buffer, final int level) throws IOException {	
+		if (!buffer.hasRemaining()) return buffer;
+		final QuarkOutputBuffer out = QuarkOutputBuffer.get();
+		try {
+			try (QuarkCompressionStream gzip = new QuarkCompressionStream(out, 8192, level)) {
+				if (buffer.hasArray()) {
+					gzip.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+					buffer.position(buffer.limit());
+				} else {
+					new ByteBufferInputStream(buffer).transferTo(gzip);
+				}
+			}
+			return ByteBuffer.wrap(out.toBytes());
+		} finally {
+			QuarkOutputBuffer.release(out);
+		}
     }
 	
 	public static ByteBuffer asBuffer(final InputStream inStream, final boolean autoClose) throws IOException {
@@ -51,54 +75,48 @@ enum QuarkCompression {
 	
 	public static byte[] asBytes(final InputStream inStream, final boolean autoClose) throws IOException {
 		
-		byte [] result = null;
-    	ByteArrayOutputStream bos = null;
+		final QuarkOutputBuffer out = QuarkOutputBuffer.get();
 		
 		try {
-			bos = new ByteArrayOutputStream();
-        	stream(inStream, bos, autoClose);
-        	result = bos.toByteArray();
+        	stream(inStream, out, autoClose);
+        	return out.toBytes();
 		} finally {
-			close(bos);
+			QuarkOutputBuffer.release(out);
 		}
-        
-        return result;
     }
 	
     public static byte[] asBytes(final String s) throws IOException {
 
-    	byte [] result = null;
-    	ByteArrayOutputStream bos = null;
+    	final QuarkOutputBuffer out = QuarkOutputBuffer.get();
         OutputStream gzip = null;
-        OutputStreamWriter osw = null;
 
         try {
-        	bos = new ByteArrayOutputStream();
-        	gzip = new QuarkCompressionStream(bos, LEVEL);
-        	osw = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
-        	osw.write(s);
-        	osw.flush();      
-        	result = bos.toByteArray();
+        	gzip = new QuarkCompressionStream(out, LEVEL);
+        	gzip.write(s.getBytes(StandardCharsets.UTF_8));
+        	gzip.close();
+        	return out.toBytes();
         } finally {
-			close(osw);
 			close(gzip);
-			close(bos);
+			QuarkOutputBuffer.release(out);
 		}
-        
-        return result;
     }
 
     public static long stream(final InputStream inStream, final OutputStream outStream, final boolean autoClose) throws IOException {
 
     	long transfered = 0;
-        OutputStream gzip = null;
+        QuarkCompressionStream gzip = null;
 
         try {
-        	gzip = new QuarkCompressionStream(outStream, LEVEL);
+        	gzip = new QuarkCompressionStream(outStream, 8192, LEVEL);
         	transfered = inStream.transferTo(gzip);
+        	gzip.finish();
         	gzip.flush();
         } finally {
-        	if (autoClose) close(gzip);
+        	if (autoClose) {
+        		close(gzip);
+        	} else if (Objects.nonNull(gzip)) {
+        		gzip.release();
+        	}
 		}
         return transfered;
     }
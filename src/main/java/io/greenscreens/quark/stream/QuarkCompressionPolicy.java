@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.greenscreens.quark.util.QuarkUtil;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Decides if and how much to compress a payload.
+ * Small payloads and payloads with high byte entropy (already compressed,
+ * encrypted or binary data) are not compressed. When system CPU load
+ * is above CPU_LIMIT, fastest compression level is used.
+ * Compression ratio statistics are kept per endpoint.
+ */
+@Vetoed
+public enum QuarkCompressionPolicy {
+;
+
+	/**
+	 * Min payload size to compress
+	 */
+	public static int MIN_SIZE = 512;
+
+	/**
+	 * Min payload size to compress when encrypted, 
+	 * small encrypted messages are never compressed
+	 */
+	public static int MIN_SIZE_ENCRYPTED = 2 * 1024;
+
+	/**
+	 * Min payload size to compress with stateful codec, 
+	 * small messages benefit from previous frames
+	 */
+	public static int MIN_SIZE_STATEFUL = 32;
+
+	/**
+	 * Max sampled entropy in bits per byte, above it data is not compressed
+	 */
+	public static double MAX_ENTROPY = 7.2;
+
+	/**
+	 * System CPU load (0-1) above which fastest level is used
+	 */
+	public static double CPU_LIMIT = 0.85;
+
+	public static final int SKIP = -1;
+
+	private static final int SAMPLES = 16;
+	private static final int SAMPLE_SIZE = 128;
+	private static final long CPU_INTERVAL = 1000;
+
+	private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+	private static volatile double cpuLoad = 0;
+	private static volatile long cpuChecked = 0;
+
+	/**
+	 * Compression level for payload
+	 * @param data
+	 * @param offset
+	 * @param length
+	 * @param encrypted
+	 * @param endpoint - statistics key, can be null
+	 * @return SKIP if payload should not be compressed
+	 */
+	public static int level(final byte[] data, final int offset, final int length, final boolean encrypted, final String endpoint) {
+		return level(ByteBuffer.wrap(data, offset, length), encrypted, endpoint);
+	}
+
+	/**
+	 * Compression level for payload, buffer position is not changed
+	 * @param data
+	 * @param encrypted
+	 * @param endpoint - statistics key, can be null
+	 * @return SKIP if payload should not be compressed
+	 */
+	public static int level(final ByteBuffer data, final boolean encrypted, final String endpoint) {
+		return level(data, encrypted ? MIN_SIZE_ENCRYPTED : MIN_SIZE, endpoint);
+	}
+
+	/**
+	 * Compression level for payload compressed with given codec
+	 * @param codec
+	 * @param data
+	 * @param offset
+	 * @param length
+	 * @param encrypted
+	 * @param endpoint - statistics key, can be null
+	 * @return SKIP if payload should not be compressed
+	 */
+	public static int level(final IQuarkCodec codec, final byte[] data, final int offset, final int length, final boolean encrypted, final String endpoint) {
+		if (!codec.isStateful()) return level(data, offset, length, encrypted, endpoint);
+		return level(ByteBuffer.wrap(data, offset, length), MIN_SIZE_STATEFUL, endpoint);
+	}
+
+	private static int level(final ByteBuffer data, final int min, final String endpoint) {
+
+		if (data.remaining() <= min || entropy(data) > MAX_ENTROPY) {
+			stats(endpoint).skipped.increment();
+			return SKIP;
+		}
+
+		return isCpuSaturated() ? 1 : QuarkCompression.LEVEL;
+	}
+
+	/**
+	 * Record compression result
+	 * @param endpoint
+	 * @param length - original size
+	 * @param compressed - compressed size
+	 */
+	public static void record(final String endpoint, final long length, final long compressed) {
+		final Stats s = stats(endpoint);
+		s.count.increment();
+		s.input.add(length);
+		s.output.add(compressed);
+	}
+
+	/**
+	 * Order 0 entropy estimate from evenly spaced samples
+	 * @return bits per byte
+	 */
+	static double entropy(final ByteBuffer data) {
+
+		final int offset = data.position();
+		final int length = data.remaining();
+		final int[] counts = new int[256];
+		int total = 0;
+
+		final int size = Math.min(SAMPLE_SIZE, length);
+		final int samples = Math.max(1, Math.min(SAMPLES, length / size));
+		final int step = samples > 1 ? (length - size) / (samples - 1) : 0;
+
+		for (int s = 0; s < samples; s++) {
+			final int start = offset + s * step;
+			for (int i = start; i < start + size; i++) {
+				counts[data.get(i) & 0xff]++;
+			}
+			total += size;
+		}
+
+		double entropy = 0;
+		for (int c : counts) {
+			if (c == 0) continue;
+			final double p = (double) c / total;
+			entropy -= p * (Math.log(p) / Math.log(2));
+		}
+		return entropy;
+	}
+
+	private static boolean isCpuSaturated() {
+		final long now = System.currentTimeMillis();
+		if (now - cpuChecked > CPU_INTERVAL) {
+			cpuChecked = now;
+			cpuLoad = cpuLoad();
+		}
+		return cpuLoad > CPU_LIMIT;
+	}
+
+	private static double cpuLoad() {
+		final OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+		if (bean instanceof com.sun.management.OperatingSystemMXBean os) {
+			return os.getCpuLoad();
+		}
+		return bean.getSystemLoadAverage() / bean.getAvailableProcessors();
+	}
+
+	private static Stats stats(final String endpoint) {
+		final String key = QuarkUtil.isEmpty(endpoint) ? "default" : endpoint;
+		return stats.computeIfAbsent(key, k -> new Stats());
+	}
+
+	/**
+	 * Compression statistics per endpoint
+	 * @return
+	 */
+	public static Map<String, Stats> stats() {
+		return Collections.unmodifiableMap(stats);
+	}
+
+	public static final class Stats {
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder skipped = new LongAdder();
+		private final LongAdder input = new LongAdder();
+		private final LongAdder output = new LongAdder();
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public long getSkipped() {
+			return skipped.sum();
+		}
+
+		public long getInput() {
+			return input.sum();
+		}
+
+		public long getOutput() {
+			return output.sum();
+		}
+
+		/**
+		 * Compressed to original size
+		 * @return
+		 */
+		public double getRatio() {
+			final long in = getInput();
+			return in == 0 ? 1 : (double) getOutput() / in;
+		}
+
+		@Override
+		public String toString() {
+			return "Stats [count=" + getCount() + ", skipped=" + getSkipped() + ", ratio=" + getRatio() + "]";
+		}
+	}
+
+}
@@ -1,25 +1,32 @@
 /*
- * Copyright (C) 2015, 2023. Green Screens Ltd.
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
  */
 package io.greenscreens.quark.stream;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 import jakarta.enterprise.inject.Vetoed;
 
 /**
- * Add support to set custom compression level.
- * Seems, there is some issue with underlying native zip,
- * as there is significant performance change if level is set before compressing the data.   
+ * GZIP output stream over pooled Deflater, with custom compression level.
+ * Deflater is returned to the pool on close, stream must be closed.
  */
 @Vetoed
-class QuarkCompressionStream extends GZIPOutputStream {
+class QuarkCompressionStream extends DeflaterOutputStream {
 	
+	private static final int GZIP_MAGIC = 0x8b1f;
+	private static final int TRAILER_SIZE = 8;
+
+	private final CRC32 crc = new CRC32();
+	private boolean closed = false;
+
 	public QuarkCompressionStream(final OutputStream out, final int size, final int level, final boolean syncFlush) throws IOException  {
-		super(out, size, syncFlush);
-		this.def.setLevel(level);
+		super(out, QuarkDeflaters.deflater(level), size, syncFlush);
+		writeHeader();
 	}
 
 	public QuarkCompressionStream(final OutputStream out, final int size, final int level) throws IOException {
@@ -34,11 +41,75 @@ class QuarkCompressionStream extends GZIPOutputStream {
 		this(out, 512, level, syncFlush);
 	}
 
+	public QuarkCompressionStream(final OutputStream out) throws IOException {
+		this(out, 512, Deflater.DEFAULT_COMPRESSION, false);
+	}
+
 	public void setLevel(final int level) {
 		this.def.setLevel(level);		
 	}
-	
-	public QuarkCompressionStream(final OutputStream out) throws IOException {
-		super(out, 512, false);
+
+	/**
+	 * Number of uncompressed bytes written
+	 * @return
+	 */
+	public long getBytesRead() {
+		return def.getBytesRead();
+	}
+
+	@Override
+	public synchronized void write(final byte[] buf, final int off, final int len) throws IOException {
+		if (closed) throw new IOException("Stream closed");
+		super.write(buf, off, len);
+		crc.update(buf, off, len);
+	}
+
+	@Override
+	public void finish() throws IOException {
+		if (def.finished()) return;
+		super.finish();
+		writeTrailer();
 	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) return;
+		closed = true;
+		try {
+			super.close();
+		} finally {
+			QuarkDeflaters.release(def);
+		}
+	}
+
+	/**
+	 * Return Deflater to pool without closing target stream
+	 */
+	void release() {
+		if (closed) return;
+		closed = true;
+		QuarkDeflaters.release(def);
+	}
+
+	private void writeHeader() throws IOException {
+		out.write(new byte[] {
+				(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED,
+				0, 0, 0, 0, 0, 0, (byte) 0xff
+		});
+	}
+
+	private void writeTrailer() throws IOException {
+		final byte[] trailer = new byte[TRAILER_SIZE];
+		writeInt((int) crc.getValue(), trailer, 0);
+		writeInt(def.getTotalIn(), trailer, 4);
+		out.write(trailer);
+	}
+
+	private static void writeInt(final int value, final byte[] buf, final int offset) {
+		buf[offset] = (byte) value;
+		buf[offset + 1] = (byte) (value >> 8);
+		buf[offset + 2] = (byte) (value >> 16);
+		buf[offset + 3] = (byte) (value >> 24);
+	}
+
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.greenscreens.quark.QuarkEngine;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Raw deflate with context takeover, Deflater / Inflater pair is kept
+ * for a whole connection and every frame is flushed with SYNC_FLUSH,
+ * so later frames reference data from earlier ones.
+ * Trailing 00 00 FF FF of every flush is removed (as in RFC 7692)
+ * and must be appended by receiver before inflating.
+ * Frame starts with uint32 inflated length, so receiver knows
+ * when frame output is complete.
+ *
+ * Registered instance is only a prototype, use forSession() per connection.
+ * Frames must be compressed and delivered in the same order.
+ */
+@Vetoed
+final class QuarkContextCodec implements IQuarkCodec {
+
+	private static final int CHUNK = 8 * 1024;
+	private static final byte[] TAIL = {0, 0, (byte) 0xFF, (byte) 0xFF};
+
+	private final Deflater deflater;
+	private final Inflater inflater;
+	private int level;
+
+	QuarkContextCodec() {
+		super();
+		this.deflater = null;
+		this.inflater = null;
+	}
+
+	private QuarkContextCodec(final int level) {
+		super();
+		this.level = level;
+		this.deflater = new Deflater(level, true);
+		this.inflater = new Inflater(true);
+	}
+
+	@Override
+	public int id() {
+		return QuarkCodecs.CONTEXT;
+	}
+
+	@Override
+	public String name() {
+		return "deflate-context";
+	}
+
+	@Override
+	public boolean isStateful() {
+		return true;
+	}
+
+	@Override
+	public IQuarkCodec forSession() {
+		return new QuarkContextCodec(QuarkCompression.LEVEL);
+	}
+
+	@Override
+	public synchronized void release() {
+		if (Objects.nonNull(deflater)) deflater.end();
+		if (Objects.nonNull(inflater)) inflater.end();
+	}
+
+	@Override
+	public synchronized void compress(final byte[] data, final int offset, final int length, final OutputStream out, final int level) throws IOException {
+
+		if (Objects.isNull(deflater)) throw new IOException("Stateful codec requires session instance");
+
+		final byte[] buffer = QuarkBufferPool.acquire(CHUNK);
+
+		try {
+			// length prefix is written with first chunk
+			ByteBuffer.wrap(buffer).putInt(length);
+			int keep = 4;
+
+			// repeated flush without input gives no output, empty frame is prefix only
+			if (length == 0) {
+				out.write(buffer, 0, keep);
+				return;
+			}
+
+			// new level is applied on next deflate call, which returns without
+			// flushing, so apply it before frame input is set
+			if (this.level != level) {
+				deflater.setLevel(level);
+				this.level = level;
+				keep += deflater.deflate(buffer, keep, buffer.length - keep, Deflater.NO_FLUSH);
+			}
+
+			deflater.setInput(data, offset, length);
+			while (true) {
+				final int len = deflater.deflate(buffer, keep, buffer.length - keep, Deflater.SYNC_FLUSH);
+				final int total = keep + len;
+				if (len < buffer.length - keep && deflater.needsInput()) {
+					out.write(buffer, 0, total - TAIL.length);
+					break;
+				}
+				// keep possible flush tail until output is complete
+				final int flush = Math.max(0, total - TAIL.length);
+				out.write(buffer, 0, flush);
+				System.arraycopy(buffer, flush, buffer, 0, total - flush);
+				keep = total - flush;
+			}
+		} finally {
+			QuarkBufferPool.release(buffer);
+		}
+	}
+
+	@Override
+	public synchronized void decompress(final ByteBuffer data, final OutputStream out) throws IOException {
+
+		if (Objects.isNull(inflater)) throw new IOException("Stateful codec requires session instance");
+
+		final byte[] buffer = QuarkBufferPool.acquire(CHUNK);
+
+		try {
+			if (data.remaining() < 4) throw new IOException("Invalid deflate-context frame");
+			final int length = data.getInt();
+			if (length < 0 || (QuarkEngine.MAX_BODY > 0 && length > QuarkEngine.MAX_BODY)) throw new IOException("Invalid deflate-context frame length");
+			if (length == 0 && !data.hasRemaining()) return;
+			inflater.setInput(data);
+			long size = inflate(buffer, out);
+			inflater.setInput(TAIL);
+			size += inflate(buffer, out);
+			if (size != length) throw new IOException("Invalid deflate-context frame length");
+		} catch (DataFormatException e) {
+			throw new IOException(e.getMessage(), e);
+		} finally {
+			QuarkBufferPool.release(buffer);
+		}
+	}
+
+	private long inflate(final byte[] buffer, final OutputStream out) throws DataFormatException, IOException {
+		long size = 0;
+		while (true) {
+			final int len = inflater.inflate(buffer);
+			if (len > 0) {
+				out.write(buffer, 0, len);
+				size += len;
+			} else if (inflater.needsDictionary()) {
+				throw new IOException("Unexpected preset dictionary");
+			} else {
+				break;
+			}
+		}
+		return size;
+	}
+
+}
@@ -4,16 +4,14 @@
 package io.greenscreens.quark.stream;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.zip.GZIPInputStream;
+import java.util.Objects;
 
+import io.greenscreens.quark.QuarkEngine;
 import io.greenscreens.quark.util.QuarkUtil;
 import jakarta.enterprise.inject.Vetoed;
 
@@ -43,6 +41,16 @@ enum QuarkDecompression {
 	public static ByteBuffer asBuffer(final ByteBuffer buffer) throws IOException {
         return buffer.hasRemaining() ? asBuffer(new ByteBufferInputStream(buffer), true) : buffer;
     }
+
+	/**
+	 * Open gzip stream over pooled Inflater
+	 * @param inStream
+	 * @return
+	 * @throws IOException
+	 */
+	public static InputStream open(final InputStream inStream) throws IOException {
+		return new QuarkDecompressionStream(inStream);
+	}
 	
 	public static ByteBuffer asBuffer(final InputStream inStream, final boolean autoClose) throws IOException {
 		return ByteBuffer.wrap(asBytes(inStream, autoClose));
@@ -50,57 +58,50 @@ enum QuarkDecompression {
 	
 	public static byte[] asBytes(final InputStream inStream, final boolean autoClose) throws IOException {
 		
-		byte [] result = null;
-		ByteArrayOutputStream bos = null;
+		final QuarkOutputBuffer out = QuarkOutputBuffer.get();
 		
 		try {
-			bos = new ByteArrayOutputStream();
-			stream(inStream, bos, autoClose);
-			result = bos.toByteArray();
+			stream(inStream, out, autoClose);
+			return out.toBytes();
 		} finally {
-			close(bos);
+			QuarkOutputBuffer.release(out);
 		}
-        
-        return result;
     }
 	
 	public static String asString(final InputStream inStream, final boolean autoClose) throws IOException {
 		
-		String result = null;
-		StringWriter sw = null;
+		final QuarkOutputBuffer out = QuarkOutputBuffer.get();
 		InputStream gis = null;
-		InputStreamReader isr = null;
 		
 		try {
-			sw = new StringWriter();
-			gis = new GZIPInputStream(inStream);
-			isr = new InputStreamReader(gis, StandardCharsets.UTF_8);
-
-			final char[] chars = new char[1024];
-			for (int len; (len = isr.read(chars)) > 0; ) {
-				sw.write(chars, 0, len);
-			}
-			sw.flush();
-			result = sw.toString();
+			gis = open(inStream);
+			return out.readFrom(gis, QuarkEngine.MAX_BODY).toString(StandardCharsets.UTF_8);
 		} finally {
-			close(isr);
-			close(sw);
+			QuarkOutputBuffer.release(out);
+			close(gis);
 			if (autoClose) close(inStream);
 		}
-        
-        return result;
     }
 	
     public static void stream(final InputStream inStream, final OutputStream outStream, final boolean autoClose) throws IOException {
 
-        InputStream gzip = null;
+        QuarkDecompressionStream gzip = null;
 
         try {
-            gzip = new GZIPInputStream(inStream);
-            gzip.transferTo(outStream);
+            gzip = new QuarkDecompressionStream(inStream);
+            if (outStream instanceof QuarkOutputBuffer buffer) {
+                // decompressed in memory, limited as request body
+                buffer.readFrom(gzip, QuarkEngine.MAX_BODY);
+            } else {
+                gzip.transferTo(outStream);
+            }
             outStream.flush();
         } finally {
-            if (autoClose) close(gzip);
+            if (autoClose) {
+                close(gzip);
+            } else if (Objects.nonNull(gzip)) {
+                gzip.release();
+            }
         }
     }
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * GZIP input stream over pooled Inflater, single member only.
+ * Inflater is returned to the pool on close, stream must be closed.
+ */
+@Vetoed
+class QuarkDecompressionStream extends InflaterInputStream {
+
+	private static final int GZIP_MAGIC = 0x8b1f;
+
+	private static final int FHCRC = 2;
+	private static final int FEXTRA = 4;
+	private static final int FNAME = 8;
+	private static final int FCOMMENT = 16;
+
+	private final CRC32 crc = new CRC32();
+	private boolean eos = false;
+	private boolean closed = false;
+
+	QuarkDecompressionStream(final InputStream in) throws IOException {
+		super(in, QuarkDeflaters.inflater(), 8192);
+		try {
+			readHeader(in);
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	@Override
+	public int read(final byte[] buf, final int off, final int len) throws IOException {
+		if (closed) throw new IOException("Stream closed");
+		if (eos) return -1;
+		final int n = super.read(buf, off, len);
+		if (n == -1) {
+			readTrailer();
+			eos = true;
+		} else {
+			crc.update(buf, off, n);
+		}
+		return n;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) return;
+		closed = true;
+		try {
+			super.close();
+		} finally {
+			QuarkDeflaters.release(inf);
+		}
+	}
+
+	/**
+	 * Return Inflater to pool without closing source stream
+	 */
+	void release() {
+		if (closed) return;
+		closed = true;
+		QuarkDeflaters.release(inf);
+	}
+
+	private void readHeader(final InputStream input) throws IOException {
+
+		final CheckedInputStream in = new CheckedInputStream(input, new CRC32());
+
+		if (readShort(in) != GZIP_MAGIC) throw new ZipException("Not in GZIP format");
+		if (readByte(in) != Deflater.DEFLATED) throw new ZipException("Unsupported compression method");
+
+		final int flags = readByte(in);
+		skip(in, 6);
+
+		if ((flags & FEXTRA) == FEXTRA) skip(in, readShort(in));
+		if ((flags & FNAME) == FNAME) skipString(in);
+		if ((flags & FCOMMENT) == FCOMMENT) skipString(in);
+
+		if ((flags & FHCRC) == FHCRC) {
+			final int v = (int) in.getChecksum().getValue() & 0xffff;
+			if (readShort(in) != v) throw new ZipException("Corrupt GZIP header");
+		}
+	}
+
+	private void readTrailer() throws IOException {
+		final int remaining = inf.getRemaining();
+		final InputStream in = remaining > 0 ? new SequenceInputStream(new ByteArrayInputStream(buf, len - remaining, remaining), this.in) : this.in;
+		final long crcValue = readInt(in);
+		final long size = readInt(in);
+		if (crcValue != crc.getValue() || size != (inf.getBytesWritten() & 0xffffffffL)) {
+			throw new ZipException("Corrupt GZIP trailer");
+		}
+	}
+
+	private static long readInt(final InputStream in) throws IOException {
+		return readShort(in) | ((long) readShort(in) << 16);
+	}
+
+	private static int readShort(final InputStream in) throws IOException {
+		return readByte(in) | (readByte(in) << 8);
+	}
+
+	private static int readByte(final InputStream in) throws IOException {
+		final int b = in.read();
+		if (b == -1) throw new EOFException();
+		return b;
+	}
+
+	private static void skip(final InputStream in, final int n) throws IOException {
+		for (int i = 0; i < n; i++) readByte(in);
+	}
+
+	private static void skipString(final InputStream in) throws IOException {
+		while (readByte(in) != 0) { }
+	}
+
+}
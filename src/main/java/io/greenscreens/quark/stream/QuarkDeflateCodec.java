@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Raw deflate codec, same compression as gzip 
+ * without gzip header, trailer and CRC32 calculation.
+ * Supports preset dictionary.
+ */
+@Vetoed
+final class QuarkDeflateCodec implements IQuarkCodec {
+
+	private static final int CHUNK = 8 * 1024;
+
+	@Override
+	public int id() {
+		return QuarkCodecs.DEFLATE;
+	}
+
+	@Override
+	public String name() {
+		return "deflate";
+	}
+
+	@Override
+	public boolean isDictionary() {
+		return true;
+	}
+
+	@Override
+	public void compress(final byte[] data, final int offset, final int length, final OutputStream out, final int level) throws IOException {
+		compress(data, offset, length, out, level, null);
+	}
+
+	@Override
+	public void decompress(final ByteBuffer data, final OutputStream out) throws IOException {
+		decompress(data, out, null);
+	}
+
+	@Override
+	public void compress(final byte[] data, final int offset, final int length, final OutputStream out, final int level, final byte[] dictionary) throws IOException {
+
+		final Deflater deflater = QuarkDeflaters.deflater(level);
+		final byte[] buffer = QuarkBufferPool.acquire(CHUNK);
+
+		try {
+			if (Objects.nonNull(dictionary)) deflater.setDictionary(dictionary);
+			deflater.setInput(data, offset, length);
+			deflater.finish();
+			while (!deflater.finished()) {
+				final int len = deflater.deflate(buffer);
+				out.write(buffer, 0, len);
+			}
+		} finally {
+			QuarkBufferPool.release(buffer);
+			QuarkDeflaters.release(deflater);
+		}
+	}
+
+	@Override
+	public void decompress(final ByteBuffer data, final OutputStream out, final byte[] dictionary) throws IOException {
+
+		final Inflater inflater = QuarkDeflaters.inflater();
+		final byte[] buffer = QuarkBufferPool.acquire(CHUNK);
+
+		try {
+			if (Objects.nonNull(dictionary)) inflater.setDictionary(dictionary);
+			inflater.setInput(data);
+			while (!inflater.finished()) {
+				final int len = inflater.inflate(buffer);
+				if (len == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IOException("Unexpected end of deflate stream");
+				}
+				out.write(buffer, 0, len);
+			}
+		} catch (DataFormatException e) {
+			throw new IOException(e.getMessage(), e);
+		} finally {
+			QuarkBufferPool.release(buffer);
+			QuarkDeflaters.release(inflater);
+		}
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Pool of raw (nowrap) Deflater / Inflater instances used for gzip streams.
+ * Instances are reset on release, native resources are released
+ * only when pool is full.
+ */
+@Vetoed
+enum QuarkDeflaters {
+;
+
+	private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+	private static final ArrayBlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+	private static final ArrayBlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+	static Deflater deflater(final int level) {
+		final Deflater deflater = DEFLATERS.poll();
+		if (Objects.isNull(deflater)) return new Deflater(level, true);
+		deflater.setLevel(level);
+		return deflater;
+	}
+
+	static void release(final Deflater deflater) {
+		if (Objects.isNull(deflater)) return;
+		deflater.reset();
+		if (!DEFLATERS.offer(deflater)) deflater.end();
+	}
+
+	static Inflater inflater() {
+		final Inflater inflater = INFLATERS.poll();
+		return Objects.isNull(inflater) ? new Inflater(true) : inflater;
+	}
+
+	static void release(final Inflater inflater) {
+		if (Objects.isNull(inflater)) return;
+		inflater.reset();
+		if (!INFLATERS.offer(inflater)) inflater.end();
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Adler32;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Preset compression dictionary for small JSON payloads.
+ * Initial dictionary is built from API field names, then rebuilt once
+ * from sampled responses. Every version is identified by its Adler32,
+ * as zlib does, last versions are kept so clients with an older
+ * dictionary can still be served.
+ */
+@Vetoed
+public final class QuarkDictionary {
+
+	/**
+	 * If true, dictionary is published in API descriptor and responses are sampled
+	 */
+	public static boolean ENABLED = false;
+
+	/**
+	 * Max dictionary size, deflate window limits it to 32KB
+	 */
+	public static int SIZE = 8 * 1024;
+
+	/**
+	 * Number of sampled responses for training, 0 disables training
+	 */
+	public static int SAMPLES = 256;
+
+	private static final int MAX_VERSIONS = 8;
+	private static final int SAMPLE_SIZE = 4 * 1024;
+	private static final int MIN_COUNT = 2;
+	private static final int MAX_TOKEN = 64;
+
+	private static final Map<Integer, QuarkDictionary> VERSIONS = new ConcurrentHashMap<>();
+	private static final ConcurrentLinkedDeque<Integer> ORDER = new ConcurrentLinkedDeque<>();
+	private static final Map<String, Integer> SAMPLED = new ConcurrentHashMap<>();
+	private static final AtomicInteger SAMPLED_COUNT = new AtomicInteger();
+	private static final AtomicBoolean TRAINED = new AtomicBoolean();
+
+	private static volatile QuarkDictionary current;
+	private static volatile Collection<String> seed = List.of();
+
+	private final int id;
+	private final byte[] data;
+
+	private QuarkDictionary(final byte[] data) {
+		super();
+		this.data = data;
+		this.id = adler(data);
+	}
+
+	public int id() {
+		return id;
+	}
+
+	public int size() {
+		return data.length;
+	}
+
+	/**
+	 * Dictionary data, must not be modified
+	 * @return
+	 */
+	byte[] data() {
+		return data;
+	}
+
+	public String toBase64() {
+		return Base64.getEncoder().encodeToString(data);
+	}
+
+	@Override
+	public String toString() {
+		return "QuarkDictionary [id=" + Integer.toUnsignedString(id) + ", size=" + data.length + "]";
+	}
+
+	/**
+	 * Dictionary used for new clients
+	 * @return null if not built
+	 */
+	public static QuarkDictionary current() {
+		return current;
+	}
+
+	/**
+	 * Get dictionary version by id from frame header or client
+	 * @param id
+	 * @return null if unknown or expired
+	 */
+	public static QuarkDictionary get(final int id) {
+		return VERSIONS.get(id);
+	}
+
+	/**
+	 * Build and publish dictionary from API field names,
+	 * names are kept as seed for training
+	 * @param names
+	 * @return
+	 */
+	public static QuarkDictionary publish(final Collection<String> names) {
+		seed = List.copyOf(new LinkedHashSet<>(names));
+		final List<String> tokens = new ArrayList<>(seed.size());
+		seed.forEach(name -> tokens.add(asKey(name)));
+		return publish(tokens, Map.of());
+	}
+
+	/**
+	 * Sample serialized response for training,
+	 * dictionary is rebuilt when enough samples are collected.
+	 * Dictionary is public, so only JSON keys are counted,
+	 * response values and data are never retained.
+	 * @param data
+	 * @param offset
+	 * @param length
+	 */
+	static void sample(final byte[] data, final int offset, final int length) {
+
+		if (!ENABLED || SAMPLES <= 0 || TRAINED.get()) return;
+
+		final int count = SAMPLED_COUNT.incrementAndGet();
+		if (count > SAMPLES) return;
+
+		tokenize(data, offset, Math.min(length, SAMPLE_SIZE), SAMPLED);
+
+		if (count == SAMPLES && TRAINED.compareAndSet(false, true)) {
+			train();
+		}
+	}
+
+	/**
+	 * Rebuild dictionary from seed names and most frequent
+	 * JSON keys in sampled responses
+	 */
+	private static void train() {
+
+		final Map<String, Integer> counts = new HashMap<>(SAMPLED);
+		SAMPLED.clear();
+
+		counts.values().removeIf(c -> c < MIN_COUNT);
+
+		final List<String> tokens = new ArrayList<>(seed.size());
+		seed.forEach(name -> tokens.add(asKey(name)));
+		publish(tokens, counts);
+	}
+
+	/**
+	 * Count JSON keys together with colon, string values are skipped.
+	 * Only identifier-like keys are counted, as map keys can carry user data.
+	 */
+	private static void tokenize(final byte[] data, final int offset, final int length, final Map<String, Integer> counts) {
+
+		final int limit = offset + length;
+		int i = offset;
+		while (i < limit) {
+
+			if (data[i] != '"') {
+				i++;
+				continue;
+			}
+
+			int end = i + 1;
+			while (end < limit && data[end] != '"') {
+				if (data[end] == '\\') end++;
+				end++;
+			}
+
+			if (end >= limit) break;
+
+			final boolean isKey = end + 1 < limit && data[end + 1] == ':';
+			if (isKey && isIdentifier(data, i + 1, end)) {
+				counts.merge(new String(data, i, end - i + 2, StandardCharsets.US_ASCII), 1, Integer::sum);
+			}
+			i = end + 1;
+		}
+	}
+
+	private static boolean isIdentifier(final byte[] data, final int start, final int end) {
+		if (end <= start || end - start > MAX_TOKEN || !Character.isJavaIdentifierStart(data[start])) return false;
+		for (int i = start + 1; i < end; i++) {
+			if (!Character.isJavaIdentifierPart(data[i])) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Seed names are placed first, sampled tokens are ordered by score
+	 * (count * length) with most valuable at the end of dictionary,
+	 * where match distances are shortest
+	 */
+	private static QuarkDictionary publish(final List<String> names, final Map<String, Integer> counts) {
+
+		final Set<String> selected = new LinkedHashSet<>();
+		int size = 0;
+
+		for (String name : names) {
+			if (size + name.length() > SIZE) continue;
+			if (selected.add(name)) size += name.length();
+		}
+
+		final List<Map.Entry<String, Integer>> scored = new ArrayList<>(counts.entrySet());
+		scored.sort(Comparator.comparingLong((Map.Entry<String, Integer> e) -> (long) e.getValue() * e.getKey().length()).reversed());
+
+		final List<String> trained = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : scored) {
+			if (size + entry.getKey().length() > SIZE) continue;
+			if (selected.add(entry.getKey())) {
+				size += entry.getKey().length();
+				trained.add(entry.getKey());
+			}
+		}
+
+		final StringBuilder sb = new StringBuilder(size);
+		names.stream().filter(selected::contains).distinct().forEach(sb::append);
+		for (int i = trained.size() - 1; i >= 0; i--) {
+			sb.append(trained.get(i));
+		}
+
+		return publish(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static synchronized QuarkDictionary publish(final byte[] data) {
+
+		final QuarkDictionary dictionary = new QuarkDictionary(data);
+
+		if (Objects.isNull(VERSIONS.putIfAbsent(dictionary.id, dictionary))) {
+			ORDER.add(dictionary.id);
+			while (ORDER.size() > MAX_VERSIONS) {
+				VERSIONS.remove(ORDER.poll());
+			}
+		}
+
+		current = VERSIONS.get(dictionary.id);
+		return current;
+	}
+
+	private static String asKey(final String name) {
+		return "\"" + name + "\":";
+	}
+
+	private static int adler(final byte[] data) {
+		final Adler32 adler = new Adler32();
+		adler.update(data);
+		return (int) adler.getValue();
+	}
+
+}
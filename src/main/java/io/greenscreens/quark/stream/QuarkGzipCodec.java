@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * GZIP codec, default codec supported by all clients
+ */
+@Vetoed
+final class QuarkGzipCodec implements IQuarkCodec {
+
+	@Override
+	public int id() {
+		return QuarkCodecs.GZIP;
+	}
+
+	@Override
+	public String name() {
+		return "gzip";
+	}
+
+	@Override
+	public void compress(final byte[] data, final int offset, final int length, final OutputStream out, final int level) throws IOException {
+		final QuarkCompressionStream gzip = new QuarkCompressionStream(out, 8192, level);
+		try {
+			gzip.write(data, offset, length);
+			gzip.finish();
+		} finally {
+			gzip.release();
+		}
+	}
+
+	@Override
+	public void decompress(final ByteBuffer data, final OutputStream out) throws IOException {
+		try (InputStream gzip = QuarkDecompression.open(new ByteBufferInputStream(data))) {
+			gzip.transferTo(out);
+		}
+	}
+
+}
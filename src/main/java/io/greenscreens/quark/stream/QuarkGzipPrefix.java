@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * GZIP data with constant prefix compressed only once.
+ * Prefix is deflated and sync flushed (byte aligned, not final block),
+ * per call only suffix is deflated as continuation blocks
+ * and CRC is computed over whole data.
+ * Suffix does not reference prefix, so it should be small.
+ */
+@Vetoed
+public final class QuarkGzipPrefix {
+
+	private static final byte[] HEADER = {(byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+	private static final int CHUNK = 8 * 1024;
+
+	private final byte[] prefix;
+	private final byte[] compressed;
+	private final int level;
+
+	public QuarkGzipPrefix(final byte[] prefix, final int level) throws IOException {
+		super();
+		this.prefix = prefix;
+		this.level = level;
+		final QuarkOutputBuffer out = QuarkOutputBuffer.get();
+		try {
+			out.write(HEADER);
+			deflate(prefix, 0, prefix.length, out, false);
+			this.compressed = out.toBytes();
+		} finally {
+			QuarkOutputBuffer.release(out);
+		}
+	}
+
+	/**
+	 * Size of compressed prefix
+	 * @return
+	 */
+	public int size() {
+		return compressed.length;
+	}
+
+	/**
+	 * Complete GZIP data of prefix followed by suffix
+	 * @param suffix
+	 * @param offset
+	 * @param length
+	 * @return
+	 * @throws IOException
+	 */
+	public ByteBuffer compress(final byte[] suffix, final int offset, final int length) throws IOException {
+
+		final QuarkOutputBuffer out = QuarkOutputBuffer.get(compressed.length + length + 64);
+
+		try {
+			out.write(compressed);
+			deflate(suffix, offset, length, out, true);
+
+			final CRC32 crc = new CRC32();
+			crc.update(prefix);
+			crc.update(suffix, offset, length);
+
+			final byte[] trailer = new byte[8];
+			writeInt((int) crc.getValue(), trailer, 0);
+			writeInt(prefix.length + length, trailer, 4);
+			out.write(trailer);
+
+			return ByteBuffer.wrap(out.toBytes());
+		} finally {
+			QuarkOutputBuffer.release(out);
+		}
+	}
+
+	/**
+	 * Deflate into final block, or sync flush into byte aligned non final block
+	 */
+	private void deflate(final byte[] data, final int offset, final int length, final QuarkOutputBuffer out, final boolean last) {
+
+		final Deflater deflater = QuarkDeflaters.deflater(level);
+		final byte[] buffer = QuarkBufferPool.acquire(CHUNK);
+
+		try {
+			deflater.setInput(data, offset, length);
+			if (last) deflater.finish();
+			while (true) {
+				final int len = deflater.deflate(buffer, 0, buffer.length, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+				out.write(buffer, 0, len);
+				if (last ? deflater.finished() : len < buffer.length && deflater.needsInput()) break;
+			}
+		} finally {
+			QuarkBufferPool.release(buffer);
+			QuarkDeflaters.release(deflater);
+		}
+	}
+
+	private static void writeInt(final int value, final byte[] buf, final int offset) {
+		buf[offset] = (byte) value;
+		buf[offset + 1] = (byte) (value >> 8);
+		buf[offset + 2] = (byte) (value >> 16);
+		buf[offset + 3] = (byte) (value >> 24);
+	}
+
+}
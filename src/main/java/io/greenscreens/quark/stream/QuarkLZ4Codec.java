@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import io.greenscreens.quark.QuarkEngine;
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Fast LZ4 block codec, pure Java. Trades compression ratio for speed,
+ * compression level is ignored.
+ * Format is 4 bytes original length (big endian) followed by single LZ4 block.
+ */
+@Vetoed
+final class QuarkLZ4Codec implements IQuarkCodec {
+
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MF_LIMIT = 12;
+	private static final int MAX_DISTANCE = 0xFFFF;
+	private static final int HASH_LOG = 12;
+	private static final int SKIP_TRIGGER = 6;
+	private static final int RUN_MASK = 0x0F;
+	private static final int MAX_RATIO = 255;
+
+	private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+	private static final ArrayBlockingQueue<int[]> TABLES = new ArrayBlockingQueue<>(POOL_SIZE);
+
+	@Override
+	public int id() {
+		return QuarkCodecs.LZ4;
+	}
+
+	@Override
+	public String name() {
+		return "lz4";
+	}
+
+	@Override
+	public void compress(final byte[] data, final int offset, final int length, final OutputStream out, final int level) throws IOException {
+
+		final byte[] block = QuarkBufferPool.acquire(4 + maxLength(length));
+		final int[] table = table();
+
+		try {
+			ByteBuffer.wrap(block).putInt(length);
+			final int size = compress(data, offset, length, block, 4, table);
+			out.write(block, 0, 4 + size);
+		} finally {
+			release(table);
+			QuarkBufferPool.release(block);
+		}
+	}
+
+	@Override
+	public void decompress(final ByteBuffer data, final OutputStream out) throws IOException {
+
+		if (data.remaining() < 5) throw new IOException("Invalid LZ4 block");
+
+		final int length = data.getInt(data.position());
+		final int size = data.remaining() - 4;
+		if (length < 0 || (long) length > (long) size * MAX_RATIO) throw new IOException("Invalid LZ4 block length");
+		if (QuarkEngine.MAX_BODY > 0 && length > QuarkEngine.MAX_BODY) throw new IOException("Data exceeds limit of " + QuarkEngine.MAX_BODY + " bytes");
+
+		final byte[] src;
+		final int offset;
+		if (data.hasArray()) {
+			src = data.array();
+			offset = data.arrayOffset() + data.position() + 4;
+		} else {
+			src = new byte[size];
+			data.get(data.position() + 4, src);
+			offset = 0;
+		}
+
+		// declared length is not trusted for allocation, output grows as data is decoded
+		final QuarkOutputBuffer dst = QuarkOutputBuffer.get((int) Math.min(length, (long) size * 4));
+		try {
+			decompress(src, offset, size, dst, length);
+			out.write(dst.array(), 0, length);
+		} finally {
+			QuarkOutputBuffer.release(dst);
+		}
+	}
+
+	/**
+	 * Max compressed block size for given input size
+	 * @param length
+	 * @return
+	 */
+	static int maxLength(final int length) {
+		return length + length / MAX_RATIO + 16;
+	}
+
+	/**
+	 * Compress data into LZ4 block
+	 * @return compressed size
+	 */
+	static int compress(final byte[] src, final int offset, final int length, final byte[] dst, final int dstOffset, final int[] table) {
+
+		final int end = offset + length;
+		final int matchLimit = end - LAST_LITERALS;
+		final int mfLimit = end - MF_LIMIT;
+
+		int ip = offset;
+		int anchor = offset;
+		int op = dstOffset;
+
+		while (ip < mfLimit) {
+
+			final int sequence = readInt(src, ip);
+			final int hash = hash(sequence);
+			int ref = table[hash];
+			table[hash] = ip;
+
+			// table is pooled and not cleared, stale entries are validated here
+			if (ref < offset || ref >= ip || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+				ip += 1 + ((ip - anchor) >>> SKIP_TRIGGER);
+				continue;
+			}
+
+			while (ip > anchor && ref > offset && src[ip - 1] == src[ref - 1]) {
+				ip--;
+				ref--;
+			}
+
+			int matchLen = MIN_MATCH;
+			while (ip + matchLen < matchLimit && src[ip + matchLen] == src[ref + matchLen]) {
+				matchLen++;
+			}
+
+			op = writeSequence(src, anchor, ip - anchor, dst, op, ip - ref, matchLen);
+
+			ip += matchLen;
+			anchor = ip;
+
+			if (ip < mfLimit) {
+				table[hash(readInt(src, ip - 2))] = ip - 2;
+			}
+		}
+
+		op = writeLiterals(src, anchor, end - anchor, dst, op);
+		return op - dstOffset;
+	}
+
+	/**
+	 * Decompress LZ4 block, every read and write is bounds checked
+	 */
+	static void decompress(final byte[] src, final int offset, final int length, final QuarkOutputBuffer dst, final int dstLength) throws IOException {
+
+		final int end = offset + length;
+		int ip = offset;
+
+		while (true) {
+
+			check(ip < end);
+			final int token = src[ip++] & 0xFF;
+
+			int literals = token >>> 4;
+			if (literals == RUN_MASK) {
+				int b;
+				do {
+					check(ip < end);
+					b = src[ip++] & 0xFF;
+					literals += b;
+				} while (b == 0xFF);
+			}
+
+			check(literals <= end - ip && literals <= dstLength - dst.size());
+			dst.write(src, ip, literals);
+			ip += literals;
+
+			if (ip == end) break;
+
+			check(end - ip >= 2);
+			final int distance = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+			ip += 2;
+			check(distance > 0 && distance <= dst.size());
+
+			int matchLen = token & RUN_MASK;
+			if (matchLen == RUN_MASK) {
+				int b;
+				do {
+					check(ip < end);
+					b = src[ip++] & 0xFF;
+					matchLen += b;
+				} while (b == 0xFF);
+			}
+			matchLen += MIN_MATCH;
+
+			check(matchLen <= dstLength - dst.size());
+			dst.copy(distance, matchLen);
+		}
+
+		check(dst.size() == dstLength);
+	}
+
+	private static int writeSequence(final byte[] src, final int anchor, final int literals, final byte[] dst, int op, final int distance, final int matchLen) {
+
+		final int tokenPos = op++;
+		final int matchCode = matchLen - MIN_MATCH;
+
+		op = writeLength(dst, op, literals);
+		System.arraycopy(src, anchor, dst, op, literals);
+		op += literals;
+
+		dst[op++] = (byte) distance;
+		dst[op++] = (byte) (distance >>> 8);
+
+		op = writeLength(dst, op, matchCode);
+
+		dst[tokenPos] = (byte) (Math.min(literals, RUN_MASK) << 4 | Math.min(matchCode, RUN_MASK));
+		return op;
+	}
+
+	private static int writeLiterals(final byte[] src, final int anchor, final int literals, final byte[] dst, int op) {
+		dst[op++] = (byte) (Math.min(literals, RUN_MASK) << 4);
+		op = writeLength(dst, op, literals);
+		System.arraycopy(src, anchor, dst, op, literals);
+		return op + literals;
+	}
+
+	/**
+	 * Length extension bytes, written only when length does not fit into token
+	 */
+	private static int writeLength(final byte[] dst, int op, final int length) {
+		if (length < RUN_MASK) return op;
+		int len = length - RUN_MASK;
+		while (len >= 0xFF) {
+			dst[op++] = (byte) 0xFF;
+			len -= 0xFF;
+		}
+		dst[op++] = (byte) len;
+		return op;
+	}
+
+	private static int readInt(final byte[] src, final int i) {
+		return (src[i] & 0xFF) | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF) << 16 | (src[i + 3] & 0xFF) << 24;
+	}
+
+	private static int hash(final int sequence) {
+		return (sequence * -1640531535) >>> (32 - HASH_LOG);
+	}
+
+	private static void check(final boolean valid) throws IOException {
+		if (!valid) throw new IOException("Corrupt LZ4 block");
+	}
+
+	private static int[] table() {
+		final int[] table = TABLES.poll();
+		return Objects.isNull(table) ? new int[1 << HASH_LOG] : table;
+	}
+
+	private static void release(final int[] table) {
+		TABLES.offer(table);
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Objects;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Growable output buffer over QuarkBufferPool arrays, used to build 
+ * binary frames in place. Space for frame header can be reserved 
+ * at the front, so that payload is written only once.
+ * Must be released after use.
+ */
+@Vetoed
+final class QuarkOutputBuffer extends OutputStream {
+
+	private static final int INITIAL_SIZE = 8 * 1024;
+	
+	private byte[] buf;
+	private int count = 0;
+
+	private QuarkOutputBuffer(final int size) {
+		super();
+		this.buf = QuarkBufferPool.acquire(size);
+	}
+
+	/**
+	 * Set write position, bytes before position are reserved
+	 * @param position
+	 */
+	void reset(final int position) {
+		ensure(position);
+		count = position;
+	}
+
+	byte[] array() {
+		return buf;
+	}
+
+	int size() {
+		return count;
+	}
+
+	/**
+	 * Copy of written data
+	 * @return
+	 */
+	byte[] toBytes() {
+		return Arrays.copyOf(buf, count);
+	}
+
+	String toString(final Charset charset) {
+		return new String(buf, 0, count, charset);
+	}
+
+	/**
+	 * Read whole stream directly into buffer
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	QuarkOutputBuffer readFrom(final InputStream in) throws IOException {
+		return readFrom(in, 0);
+	}
+
+	/**
+	 * Read whole stream directly into buffer, up to given size
+	 * @param in
+	 * @param max - max size, 0 for unlimited
+	 * @return
+	 * @throws IOException if stream is larger than max
+	 */
+	QuarkOutputBuffer readFrom(final InputStream in, final int max) throws IOException {
+		while (true) {
+			if (count == buf.length) {
+				// presized buffer is full, grow only if there is more data
+				final int b = in.read();
+				if (b < 0) break;
+				write(b);
+			} else {
+				ensure(count + in.available());
+				final int len = in.read(buf, count, buf.length - count);
+				if (len < 0) break;
+				count += len;
+			}
+			if (max > 0 && count > max) throw new IOException("Data exceeds limit of " + max + " bytes");
+		}
+		return this;
+	}
+
+	/**
+	 * Buffer over written data, backing pooled array is handed over
+	 * and must be released with QuarkStream.release
+	 * @return
+	 */
+	ByteBuffer detach() {
+		final ByteBuffer buffer = ByteBuffer.wrap(buf, 0, count);
+		buf = null;
+		count = 0;
+		return buffer;
+	}
+
+	@Override
+	public void write(final int b) {
+		ensure(count + 1);
+		buf[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) {
+		Objects.checkFromIndexSize(off, len, b.length);
+		ensure(count + len);
+		System.arraycopy(b, off, buf, count, len);
+		count += len;
+	}
+
+	/**
+	 * Append already written bytes from given distance back,
+	 * source and destination can overlap (LZ77 match)
+	 * @param distance
+	 * @param length
+	 */
+	void copy(final int distance, final int length) {
+		ensure(count + length);
+		int ref = count - distance;
+		if (distance >= length) {
+			System.arraycopy(buf, ref, buf, count, length);
+			count += length;
+		} else {
+			for (int i = 0; i < length; i++) {
+				buf[count++] = buf[ref++];
+			}
+		}
+	}
+
+	private void ensure(final int capacity) {
+		if (capacity <= buf.length) return;
+		final byte[] next = QuarkBufferPool.acquire(Math.max(capacity, buf.length << 1));
+		System.arraycopy(buf, 0, next, 0, count);
+		QuarkBufferPool.release(buf);
+		buf = next;
+	}
+
+	/**
+	 * Get buffer backed by pooled array
+	 * @return
+	 */
+	static QuarkOutputBuffer get() {
+		return new QuarkOutputBuffer(INITIAL_SIZE);
+	}
+
+	static QuarkOutputBuffer get(final int size) {
+		return new QuarkOutputBuffer(Math.max(size, QuarkBufferPool.MIN_SIZE));
+	}
+
+	/**
+	 * Return backing array to pool
+	 * @param buffer
+	 */
+	static void release(final QuarkOutputBuffer buffer) {
+		if (Objects.isNull(buffer) || Objects.isNull(buffer.buf)) return;
+		QuarkBufferPool.release(buffer.buf);
+		buffer.buf = null;
+		buffer.count = 0;
+	}
+
+}
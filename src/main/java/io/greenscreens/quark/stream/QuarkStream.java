@@ -3,14 +3,10 @@
  */
 package io.greenscreens.quark.stream;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
-import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
@@ -18,9 +14,11 @@ import java.util.Objects;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.greenscreens.quark.QuarkEngine;
 import io.greenscreens.quark.internal.QuarkBuilder;
 import io.greenscreens.quark.security.IQuarkKey;
 import io.greenscreens.quark.security.QuarkSecurity;
+import io.greenscreens.quark.util.QuarkJson;
 import io.greenscreens.quark.util.QuarkUtil;
 import jakarta.enterprise.inject.Vetoed;
 
@@ -30,16 +28,18 @@ import jakarta.enterprise.inject.Vetoed;
 @Vetoed
 public enum QuarkStream {
 ;
-	private static final int COMPRESSION_RATE = 1024 * 2;
-	
 	private static final int HEAD_LEN = 8;
 	private static final byte FLAG_COMPRESS = 1;
 	private static final byte FLAG_ENCRYPT = 2;
 	private static final byte FLAG_CONFIG = 4;
+	private static final byte FLAG_DICTIONARY = 8;
+	private static final int CODEC_SHIFT = 4;
+	private static final int CODEC_MASK = 0x0F;
 	
 	private static final int POS_TYPE = 3;
 	private static final int POS_LEN = 4;
 	private static final int IV_SIZE = 16;
+	private static final int DICTIONARY_SIZE = 4;
 	private static final byte VERSION = 0x05;
 	private static final short ITENTIFIER = 18259; // GS read as short
 
@@ -86,6 +86,33 @@ public enum QuarkStream {
 		return (type & FLAG_COMPRESS) == FLAG_COMPRESS;
 	}
 
+	/**
+	 * Check if data is compressed with preset dictionary
+	 * @param type
+	 * @return
+	 */
+	public static boolean isDictionary(final int type) {
+		return (type & FLAG_DICTIONARY) == FLAG_DICTIONARY;
+	}
+
+	/**
+	 * Get preset dictionary id, stored after header
+	 * @param buffer
+	 * @return 0 if dictionary is not used
+	 */
+	public static int dictionary(final ByteBuffer buffer) {
+		return isDictionary(type(buffer)) ? buffer.getInt(HEAD_LEN) : 0;
+	}
+
+	/**
+	 * Get compression codec id, upper 4 bits of data type
+	 * @param type
+	 * @return
+	 */
+	public static int codec(final int type) {
+		return (type >>> CODEC_SHIFT) & CODEC_MASK;
+	}
+
 	/**
 	 * Check if encrypt flag is set
 	 * @param type
@@ -101,7 +128,7 @@ public enum QuarkStream {
 	 * @return
 	 */
 	public static ByteBuffer iv(final ByteBuffer buffer) {
-		buffer.position(HEAD_LEN);
+		buffer.position(start(buffer));
 		final ByteBuffer iv = buffer.slice();
 		iv.limit(IV_SIZE);
 		return iv;
@@ -114,13 +141,21 @@ public enum QuarkStream {
 	 * @return
 	 */
 	public static ByteBuffer data(final ByteBuffer buffer, final boolean isEncrypt) {		
-		final int len = isEncrypt ? length(buffer) - IV_SIZE : length(buffer);		
-		buffer.position(isEncrypt ? HEAD_LEN + IV_SIZE : HEAD_LEN);	
+		final int start = start(buffer);
+		final int len = length(buffer) - (start - HEAD_LEN) - (isEncrypt ? IV_SIZE : 0);
+		buffer.position(isEncrypt ? start + IV_SIZE : start);	
 		final ByteBuffer data = buffer.slice();
 		data.limit(len);
 		return data;
 	}
 	
+	/**
+	 * Position of data after header and dictionary id
+	 */
+	private static int start(final ByteBuffer buffer) {
+		return isDictionary(buffer.get(POS_TYPE)) ? HEAD_LEN + DICTIONARY_SIZE : HEAD_LEN;
+	}
+
 	/**
 	 * Convert ByteBuffer to raw byte array
 	 * @param buffer
@@ -156,22 +191,69 @@ public enum QuarkStream {
 		return asString(inStream, StandardCharsets.UTF_8, autoClose);
 	}
 	
+	/**
+	 * Read whole stream into pooled buffer presized to expected size,
+	 * up to largest pooled size, without intermediate copy. Stream is closed.
+	 * Buffer must be released with release(ByteBuffer) when no longer used.
+	 * @param inStream
+	 * @param size - expected size (Content-Length), -1 if unknown
+	 * @param max - max size, 0 for unlimited
+	 * @return
+	 * @throws IOException if data is larger than max
+	 */
+	public static ByteBuffer asPooledBuffer(final InputStream inStream, final int size, final int max) throws IOException {
+
+		if (max > 0 && size > max) {
+			QuarkUtil.close(inStream);
+			throw new IOException("Data exceeds limit of " + max + " bytes");
+		}
+
+		// declared size is not trusted, buffer grows as data arrives
+		final QuarkOutputBuffer out = size > 0 ? QuarkOutputBuffer.get(Math.min(size, QuarkBufferPool.MAX_SIZE)) : QuarkOutputBuffer.get();
+
+		try {
+			return out.readFrom(inStream, max).detach();
+		} finally {
+			QuarkOutputBuffer.release(out);
+			QuarkUtil.close(inStream);
+		}
+	}
+
+	/**
+	 * Decompress gzip stream into pooled buffer, limit applies to decompressed size.
+	 * Buffer must be released with release(ByteBuffer) when no longer used.
+	 * @param inStream
+	 * @param size - compressed size, -1 if unknown
+	 * @param max - max decompressed size, 0 for unlimited
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer decompressAsPooledBuffer(final InputStream inStream, final int size, final int max) throws IOException {
+		final int expected = size > 0 ? (int) Math.min((long) size * 4, QuarkBufferPool.MAX_SIZE) : -1;
+		return asPooledBuffer(QuarkDecompression.open(inStream), expected, max);
+	}
+
+	/**
+	 * Return buffer from asPooledBuffer to pool, buffer must not be used after release.
+	 * Buffers over arrays not allocated by the pool are ignored.
+	 * @param buffer
+	 */
+	public static void release(final ByteBuffer buffer) {
+		if (Objects.nonNull(buffer) && buffer.hasArray() && !buffer.isReadOnly()) {
+			QuarkBufferPool.release(buffer.array());
+		}
+	}
+
 	public static byte[] asBytes(final InputStream inStream, final boolean autoClose) throws IOException {
 		
-		byte [] result = null;
-		ByteArrayOutputStream bos = null;
+		final QuarkOutputBuffer out = QuarkOutputBuffer.get();
 		
 		try {
-			bos = new ByteArrayOutputStream();
-			inStream.transferTo(bos);
-			bos.flush();
-			result = bos.toByteArray();
+			return out.readFrom(inStream).toBytes();
 		} finally {
-			QuarkUtil.close(bos);
+			QuarkOutputBuffer.release(out);
 			if (autoClose) QuarkUtil.close(inStream);
 		}
-        
-        return result;
     }
 	
 	public static void compressionLevel(final int level) {
@@ -197,23 +279,41 @@ public enum QuarkStream {
 	public static long compress(final InputStream input, final OutputStream output) throws IOException {
 		return QuarkCompression.stream(input, output, false);
 	}
+
+	/**
+	 * GZIP output stream over pooled Deflater, must be closed to release Deflater
+	 * @param output
+	 * @param syncFlush - flush compressed data on every flush
+	 * @return
+	 * @throws IOException
+	 */
+	public static OutputStream gzip(final OutputStream output, final boolean syncFlush) throws IOException {
+		return new QuarkCompressionStream(output, 8192, QuarkCompression.LEVEL, syncFlush);
+	}
 	
+	/**
+	 * Return compressor of stream from gzip to pool without writing trailer,
+	 * used when response is abandoned, no-op for closed or other streams
+	 * @param output
+	 */
+	public static void release(final OutputStream output) {
+		if (output instanceof QuarkCompressionStream stream) stream.release();
+	}
+
 	public static long stream(final InputStream input, final OutputStream output) throws IOException {
-	    try (
-	        final ReadableByteChannel inputChannel = Channels.newChannel(input);
-	        final WritableByteChannel outputChannel = Channels.newChannel(output);
-	    ) {
-	        final ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
-	        long size = 0;
-	        
-	        while (inputChannel.read(buffer) != -1) {
-	            buffer.flip();
-	            size += outputChannel.write(buffer);
-	            buffer.clear();
-	        }
-
-	        return size;
-	    }
+		final byte[] buffer = QuarkBufferPool.acquire(8 * 1024);
+		try {
+			long size = 0;
+			for (int len; (len = input.read(buffer)) >= 0; ) {
+				output.write(buffer, 0, len);
+				size += len;
+			}
+			return size;
+		} finally {
+			QuarkBufferPool.release(buffer);
+			QuarkUtil.close(input);
+			QuarkUtil.close(output);
+		}
 	}
 	
 	/**
@@ -224,6 +324,35 @@ public enum QuarkStream {
 	 * @throws IOException
 	 */
 	public static ByteBuffer unwrap(final ByteBuffer buffer, final IQuarkKey key) throws IOException {
+		return unwrap(buffer, key, null);
+	}
+
+	/**
+	 * Convert Quark data steam into raw data (usually JSON string)
+	 * @param buffer
+	 * @param key
+	 * @param session - connection codec instance, used when frame codec id matches
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer unwrap(final ByteBuffer buffer, final IQuarkKey key, final IQuarkCodec session) throws IOException {
+		return unwrap(buffer, key, session, false);
+	}
+
+	/**
+	 * Convert Quark data stream into raw data, encrypted data is decrypted 
+	 * in place (AES/CTR output is of same size), so no copy is made 
+	 * for uncompressed data. Buffer content is overwritten.
+	 * @param buffer - owned by caller, usually pooled request body
+	 * @param key
+	 * @return slice of given buffer, or new buffer if data is compressed
+	 * @throws IOException
+	 */
+	public static ByteBuffer unwrapInPlace(final ByteBuffer buffer, final IQuarkKey key) throws IOException {
+		return unwrap(buffer, key, null, true);
+	}
+
+	private static ByteBuffer unwrap(final ByteBuffer buffer, final IQuarkKey key, final IQuarkCodec session, final boolean inPlace) throws IOException {
 		
 		buffer.rewind();
 		if (!isGSStream(buffer)) return buffer;
@@ -232,17 +361,24 @@ public enum QuarkStream {
 		final int type = type(buffer);
 		final boolean isCompress = isCompress(type);
 		final boolean isEncrypt = isEncrypt(type);
+		final QuarkDictionary dictionary = isDictionary(type) ? dictionary(buffer.getInt(HEAD_LEN)) : null;
 		
 		ByteBuffer data = data(buffer, isEncrypt);
 		
 		if (isEncrypt) {
 		    if (Objects.isNull(key) || !key.isValid()) throw new IOException("No valid key");
 			final ByteBuffer iv = iv(buffer);	
-			data = key.decrypt(data, iv);
+			if (inPlace && data.hasArray() && !data.isReadOnly()) {
+				final byte[] vector = new byte[IV_SIZE];
+				iv.get(vector);
+				key.decrypt(data.array(), data.arrayOffset() + data.position(), data.remaining(), vector);
+			} else {
+				data = key.decrypt(data, iv);
+			}
 		} 
 		
 		if (isCompress) {
-			data = QuarkDecompression.asBuffer(data);
+			data = decompress(data, toCodec(codec(type), session), dictionary);
 		}
 		
 		return data;
@@ -257,22 +393,94 @@ public enum QuarkStream {
 	}
 	
 	public static ByteBuffer wrap(final ByteBuffer buffer, final IQuarkKey key, final boolean isCompress, final ObjectNode node) throws IOException {
+		return wrap(buffer, key, isCompress, node, null);
+	}
+
+	/**
+	 * Convert raw data into Quark data stream
+	 * @param buffer
+	 * @param key - if null, data is not encrypted
+	 * @param isCompress - compress if allowed by QuarkCompressionPolicy
+	 * @param node - API keys and signature, can be null
+	 * @param endpoint - compression statistics key
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer wrap(final ByteBuffer buffer, final IQuarkKey key, final boolean isCompress, final ObjectNode node, final String endpoint) throws IOException {
+		return wrap(buffer, key, isCompress ? QuarkCodecs.gzip() : null, node, endpoint);
+	}
+
+	/**
+	 * Convert raw data into Quark data stream
+	 * @param buffer
+	 * @param key - if null, data is not encrypted
+	 * @param codec - if null, data is not compressed
+	 * @param node - API keys and signature, can be null
+	 * @param endpoint - compression statistics key
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer wrap(final ByteBuffer buffer, final IQuarkKey key, final IQuarkCodec codec, final ObjectNode node, final String endpoint) throws IOException {
 		
 		final boolean isEncrypt = Objects.nonNull(key);
 		ByteBuffer data = buffer;
-		ByteBuffer iv = EMPTY;
-		ByteBuffer keys = EMPTY;
 		byte type = 0;
 		
-		final boolean protect = !isEncrypt || data.remaining() > COMPRESSION_RATE;
+		final int level = Objects.nonNull(codec) ? QuarkCompressionPolicy.level(data, isEncrypt, endpoint) : QuarkCompressionPolicy.SKIP;
 		
-		if (isCompress && protect) {
-			data = QuarkCompression.asBuffer(data);
-			type = FLAG_COMPRESS;
+		if (level != QuarkCompressionPolicy.SKIP) {
+			final int size = data.remaining();
+			final byte[] raw = data.hasArray() ? data.array() : asBytes(data.duplicate());
+			final int offset = data.hasArray() ? data.arrayOffset() + data.position() : 0;
+			final QuarkOutputBuffer zip = compress(codec, raw, offset, size, level, null, endpoint, 0);
+			try {
+				data = ByteBuffer.wrap(zip.toBytes());
+			} finally {
+				QuarkOutputBuffer.release(zip);
+			}
+			type = toType(codec);
 		}
-		
-		if (isEncrypt) {
-		    if (Objects.isNull(key) || !key.isValid()) throw new IOException("No valid key");
+
+		return frame(data, type, key, Objects.isNull(node) ? null : toKeys(node));
+	}
+
+	/**
+	 * Wrap already gzip compressed data into Quark data stream,
+	 * used for precompressed API descriptor
+	 * @param data - gzip data
+	 * @param key - if null, data is not encrypted
+	 * @param keys - API keys section from toKeys, can be null
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer wrapCompressed(final ByteBuffer data, final IQuarkKey key, final byte[] keys) throws IOException {
+		return frame(data, toType(QuarkCodecs.gzip()), key, keys);
+	}
+
+	/**
+	 * Wrap raw data into Quark data stream without compression
+	 * @param data
+	 * @param key - if null, data is not encrypted
+	 * @param keys - API keys section from toKeys, can be null
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer wrap(final ByteBuffer data, final IQuarkKey key, final byte[] keys) throws IOException {
+		return frame(data, (byte) 0, key, keys);
+	}
+
+	/**
+	 * Encrypt data and add frame header
+	 */
+	private static ByteBuffer frame(final ByteBuffer buffer, final byte compression, final IQuarkKey key, final byte[] keySection) throws IOException {
+
+		ByteBuffer data = buffer;
+		ByteBuffer iv = EMPTY;
+		ByteBuffer keys = EMPTY;
+		byte type = compression;
+
+		if (Objects.nonNull(key)) {
+		    if (!key.isValid()) throw new IOException("No valid key");
 			iv = ByteBuffer.wrap(QuarkSecurity.getRandom(IV_SIZE));
 			data = key.encrypt(data, iv);
 			iv.rewind();
@@ -280,20 +488,8 @@ public enum QuarkStream {
 			type = (byte) (type | FLAG_ENCRYPT);
 		}
 		
-		if (Objects.nonNull(node)) {
-
-			final byte[] keyEnc = toBytes(node, QuarkBuilder.KEY_ENC);
-			final byte[] keyVer = toBytes(node, QuarkBuilder.KEY_VER);
-			final byte[] signature = toBytes(node, QuarkBuilder.SIGNATURE);
-			
-			keys = ByteBuffer.allocate(keyEnc.length + keyVer.length + signature.length + 12);
-			keys.putInt(keyEnc.length);
-			keys.put(keyEnc);
-			keys.putInt(keyVer.length);
-			keys.put(keyVer);
-			keys.putInt(signature.length);
-			keys.put(signature);
-			keys.rewind();
+		if (Objects.nonNull(keySection)) {
+			keys = ByteBuffer.wrap(keySection);
 			type = (byte) (type | FLAG_CONFIG);
 		}
 
@@ -311,6 +507,241 @@ public enum QuarkStream {
 		return result;
 	}
 
+	/**
+	 * Serialize object to JSON and wrap it into Quark data stream in a single pass.
+	 * Data is written into pooled buffers with space reserved for header,
+	 * compressed as stream and encrypted in place, only final frame is allocated.
+	 * @param data - object to serialize as JSON
+	 * @param key - if null, data is not encrypted
+	 * @param isCompress
+	 * @param node - API keys and signature, can be null
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer encode(final Object data, final IQuarkKey key, final boolean isCompress, final ObjectNode node) throws IOException {
+		return encode(data, key, isCompress, node, null);
+	}
+
+	/**
+	 * Serialize object to JSON and wrap it into Quark data stream in a single pass.
+	 * @param data - object to serialize as JSON
+	 * @param key - if null, data is not encrypted
+	 * @param isCompress - compress if allowed by QuarkCompressionPolicy
+	 * @param node - API keys and signature, can be null
+	 * @param endpoint - compression statistics key
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer encode(final Object data, final IQuarkKey key, final boolean isCompress, final ObjectNode node, final String endpoint) throws IOException {
+		return encode(data, key, isCompress ? QuarkCodecs.gzip() : null, node, endpoint);
+	}
+
+	/**
+	 * Serialize object to JSON and wrap it into Quark data stream in a single pass.
+	 * @param data - object to serialize as JSON
+	 * @param key - if null, data is not encrypted
+	 * @param codec - if null, data is not compressed
+	 * @param node - API keys and signature, can be null
+	 * @param endpoint - compression statistics key
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer encode(final Object data, final IQuarkKey key, final IQuarkCodec codec, final ObjectNode node, final String endpoint) throws IOException {
+		return encode(data, key, codec, null, node, endpoint);
+	}
+
+	/**
+	 * Serialize object to JSON and wrap it into Quark data stream in a single pass.
+	 * Dictionary id is stored after header, used only if data is compressed
+	 * and codec supports preset dictionary.
+	 * @param data - object to serialize as JSON
+	 * @param key - if null, data is not encrypted
+	 * @param codec - if null, data is not compressed
+	 * @param dictionary - preset dictionary known by the client, can be null
+	 * @param node - API keys and signature, can be null
+	 * @param endpoint - compression statistics key
+	 * @return
+	 * @throws IOException
+	 */
+	public static ByteBuffer encode(final Object data, final IQuarkKey key, final IQuarkCodec codec, final QuarkDictionary dictionary, final ObjectNode node, final String endpoint) throws IOException {
+
+		final boolean isEncrypt = Objects.nonNull(key);
+		if (isEncrypt && !key.isValid()) throw new IOException("No valid key");
+
+		final byte[] keys = Objects.isNull(node) ? null : toKeys(node);
+		final int keysLen = Objects.isNull(keys) ? 0 : keys.length;
+		final int prefix = HEAD_LEN + keysLen + (isEncrypt ? IV_SIZE : 0);
+		final boolean isDictionary = Objects.nonNull(dictionary) && Objects.nonNull(codec) && codec.isDictionary();
+		int start = prefix;
+
+		QuarkOutputBuffer out = QuarkOutputBuffer.get();
+		QuarkOutputBuffer zip = null;
+
+		try {
+
+			out.reset(prefix);
+			QuarkJson.write(out, data);
+
+			byte type = 0;
+			final int size = out.size() - prefix;
+			final int level = Objects.nonNull(codec) ? QuarkCompressionPolicy.level(codec, out.array(), prefix, size, isEncrypt, endpoint) : QuarkCompressionPolicy.SKIP;
+
+			QuarkDictionary.sample(out.array(), prefix, size);
+
+			if (level != QuarkCompressionPolicy.SKIP) {
+				start = isDictionary ? prefix + DICTIONARY_SIZE : prefix;
+				zip = compress(codec, out.array(), prefix, size, level, isDictionary ? dictionary.data() : null, endpoint, start);
+				QuarkOutputBuffer.release(out);
+				out = zip;
+				zip = null;
+				type = toType(codec);
+			}
+
+			final byte[] frame = out.array();
+			final int dictionaryLen = start - prefix;
+
+			if (dictionaryLen > 0) {
+				ByteBuffer.wrap(frame, HEAD_LEN, DICTIONARY_SIZE).putInt(dictionary.id());
+				type = (byte) (type | FLAG_DICTIONARY);
+			}
+
+			if (isEncrypt) {
+				final byte[] iv = QuarkSecurity.getRandom(IV_SIZE);
+				key.encrypt(frame, start, out.size() - start, iv);
+				System.arraycopy(iv, 0, frame, start - IV_SIZE, IV_SIZE);
+				type = (byte) (type | FLAG_ENCRYPT);
+			}
+
+			if (keysLen > 0) {
+				System.arraycopy(keys, 0, frame, HEAD_LEN + dictionaryLen, keysLen);
+				type = (byte) (type | FLAG_CONFIG);
+			}
+
+			ByteBuffer.wrap(frame, 0, HEAD_LEN)
+				.putShort(ITENTIFIER)
+				.put(VERSION)
+				.put(type)
+				.putInt(out.size() - HEAD_LEN);
+
+			return ByteBuffer.wrap(out.toBytes());
+
+		} finally {
+			QuarkOutputBuffer.release(zip);
+			QuarkOutputBuffer.release(out);
+		}
+	}
+
+	/**
+	 * Compress data with codec into pooled buffer, bytes before prefix are reserved
+	 */
+	private static QuarkOutputBuffer compress(final IQuarkCodec codec, final byte[] data, final int offset, final int length, final int level, final byte[] dictionary, final String endpoint, final int prefix) throws IOException {
+		final QuarkOutputBuffer zip = QuarkOutputBuffer.get(prefix + length / 2);
+		try {
+			zip.reset(prefix);
+			if (Objects.isNull(dictionary)) {
+				codec.compress(data, offset, length, zip, level);
+			} else {
+				codec.compress(data, offset, length, zip, level, dictionary);
+			}
+			QuarkCompressionPolicy.record(endpoint, length, zip.size() - prefix);
+			return zip;
+		} catch (IOException | RuntimeException e) {
+			QuarkOutputBuffer.release(zip);
+			throw e;
+		}
+	}
+
+	private static IQuarkCodec toCodec(final int id, final IQuarkCodec session) throws IOException {
+		if (Objects.nonNull(session) && session.id() == id) return session;
+		final IQuarkCodec codec = QuarkCodecs.get(id);
+		if (Objects.isNull(codec)) throw new IOException("Unsupported codec: " + id);
+		return codec;
+	}
+
+	/**
+	 * Decompress frame payload, output is limited with QuarkEngine.MAX_BODY
+	 */
+	private static ByteBuffer decompress(final ByteBuffer data, final IQuarkCodec codec, final QuarkDictionary dictionary) throws IOException {
+		final QuarkOutputBuffer out = QuarkOutputBuffer.get(data.remaining() * 2);
+		final OutputStream limited = new LimitedOutputStream(out, QuarkEngine.MAX_BODY);
+		try {
+			if (Objects.isNull(dictionary)) {
+				codec.decompress(data, limited);
+			} else {
+				codec.decompress(data, limited, dictionary.data());
+			}
+			return ByteBuffer.wrap(out.toBytes());
+		} finally {
+			QuarkOutputBuffer.release(out);
+		}
+	}
+
+	/**
+	 * Output stream failing when written data exceeds limit,
+	 * guards codec output against decompression bombs
+	 */
+	private static final class LimitedOutputStream extends OutputStream {
+
+		private final OutputStream out;
+		private final int max;
+		private long count = 0;
+
+		LimitedOutputStream(final OutputStream out, final int max) {
+			this.out = out;
+			this.max = max;
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			check(1);
+			out.write(b);
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			check(len);
+			out.write(b, off, len);
+		}
+
+		private void check(final int len) throws IOException {
+			count += len;
+			if (max > 0 && count > max) throw new IOException("Data exceeds limit of " + max + " bytes");
+		}
+	}
+
+	private static QuarkDictionary dictionary(final int id) throws IOException {
+		final QuarkDictionary dictionary = QuarkDictionary.get(id);
+		if (Objects.isNull(dictionary)) throw new IOException("Unknown dictionary: " + Integer.toUnsignedString(id));
+		return dictionary;
+	}
+
+	private static byte toType(final IQuarkCodec codec) {
+		return (byte) (FLAG_COMPRESS | (codec.id() & CODEC_MASK) << CODEC_SHIFT);
+	}
+
+	private static byte[] toKeys(final ObjectNode node) {
+		return toKeys(toBytes(node, QuarkBuilder.KEY_ENC), toBytes(node, QuarkBuilder.KEY_VER), toBytes(node, QuarkBuilder.SIGNATURE));
+	}
+
+	/**
+	 * API keys section of frame header
+	 * @param keyEnc - decoded encryption public key
+	 * @param keyVer - decoded verification public key
+	 * @param signature - decoded challenge signature
+	 * @return
+	 */
+	public static byte[] toKeys(final byte[] keyEnc, final byte[] keyVer, final byte[] signature) {
+
+		final ByteBuffer keys = ByteBuffer.allocate(keyEnc.length + keyVer.length + signature.length + 12);
+		keys.putInt(keyEnc.length);
+		keys.put(keyEnc);
+		keys.putInt(keyVer.length);
+		keys.put(keyVer);
+		keys.putInt(signature.length);
+		keys.put(signature);
+		return keys.array();
+	}
+
 	private static  byte[] toBytes(final ObjectNode node, final String key) {
 		return Base64.getDecoder().decode(node.get(key).asText());
 		//return node.get(key).asText().getBytes(StandardCharsets.UTF_8);	
@@ -3,16 +3,25 @@
  */
 package io.greenscreens.quark.util;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.List;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import io.greenscreens.quark.stream.QuarkStream;
 import io.greenscreens.quark.util.override.JsonDecoder;
 import io.greenscreens.quark.util.override.JsonViews;
 
@@ -38,19 +47,102 @@ public enum QuarkJson {
 	public static String stringify(final Object object) throws JsonProcessingException {
 		return JsonDecoder.stringify(object);
 	}
+
+	/**
+	 * Serialize Object directly into output stream, stream is not closed
+	 * @param output
+	 * @param object
+	 * @throws IOException
+	 */
+	public static void write(final OutputStream output, final Object object) throws IOException {
+		JsonDecoder.write(output, object);
+	}
 	
+	/**
+	 * Serialized property names of a java type
+	 * @param type
+	 * @return
+	 */
+	public static List<String> properties(final Type type) {
+		return JsonDecoder.properties(type);
+	}
+
 	public static JsonNode parse(final String data) throws JsonProcessingException {
 		return JsonDecoder.parse(data);
 	}
+
+	/**
+	 * Parse JSON tree directly from raw bytes, without intermediate String
+	 * @param buffer
+	 * @return
+	 * @throws IOException
+	 */
+	public static JsonNode parse(final ByteBuffer buffer) throws IOException {
+		try (JsonParser parser = parser(buffer)) {
+			return JsonDecoder.parse(parser);
+		}
+	}
 	
 	public static <T> T parse(final Class<T> type, final String json) throws JsonProcessingException {
 		return JsonDecoder.parse(type, json);
 	}
 	
+    /**
+     * Streaming parser over raw request bytes
+     * @param buffer
+     * @return
+     * @throws IOException
+     */
+    public static JsonParser parser(final ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return JsonDecoder.createParser(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return JsonDecoder.createParser(QuarkStream.asStream(buffer));
+    }
+
+    public static JsonParser parser(final String data) throws IOException {
+        return JsonDecoder.createParser(data);
+    }
+
+    /**
+     * Non-blocking parser, input is fed with ByteArrayFeeder
+     * @return
+     * @throws IOException
+     */
+    public static JsonParser nonBlockingParser() throws IOException {
+        return JsonDecoder.createNonBlockingParser();
+    }
+
+    /**
+     * Token buffer for non-blocking parser events, bound to shared mapper
+     * @return
+     */
+    public static TokenBuffer tokenBuffer() {
+        return JsonDecoder.createTokenBuffer();
+    }
+
     public static JsonNode parseQuark(final String data) throws JsonProcessingException {
         return JsonDecoder.parseAs(data, JsonViews.Quark.class);
     }
     
+	/**
+	 * Cached reader for a given generic type
+	 * @param type
+	 * @return
+	 */
+	public static ObjectReader reader(final Type type) {
+		return JsonDecoder.readerFor(type);
+	}
+
+	/**
+	 * Cached reader for a collection type, single value is accepted as one element collection
+	 * @param type
+	 * @return
+	 */
+	public static ObjectReader collectionReader(final Type type) {
+		return JsonDecoder.readerFor(type).with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+	}
+
 	public static Collection<Object> toCollection(final ParameterizedType ptype, final JsonNode node) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException, JsonProcessingException {
 
 		final Type rtype = ptype.getRawType();
@@ -18,11 +18,14 @@ import java.util.Optional;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import io.greenscreens.quark.annotations.ExtJSAsync;
+import io.greenscreens.quark.annotations.ExtJSBulkhead;
 import io.greenscreens.quark.annotations.ExtJSDirect;
 import io.greenscreens.quark.annotations.ExtJSMethod;
 import io.greenscreens.quark.annotations.ExtJSProtected;
 import io.greenscreens.quark.async.QuarkAsyncContext;
 import io.greenscreens.quark.cdi.Required;
+import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.reflection.IQuarkParameter;
 import jakarta.enterprise.inject.spi.AnnotatedParameter;
 import jakarta.inject.Inject;
 
@@ -71,6 +74,21 @@ public enum ReflectionUtil {
 		return sts;
 	}
 	
+	/**
+	 * Check for required parameters against precomputed binding plan
+	 * @param handle
+	 * @param params
+	 * @return
+	 */
+	public static boolean isParametersInvalid(final IQuarkHandle handle, final Object[] params) {
+		for (IQuarkParameter param : handle.parameters()) {
+			if (param.isRequired() && Objects.isNull(params[param.index()])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public static boolean isJsonNode(final Object o) {
 		return o instanceof JsonNode;
 	}
@@ -99,6 +117,41 @@ public enum ReflectionUtil {
 		return Optional.ofNullable(method).map(m -> m.getAnnotation(ExtJSAsync.class)).map(a -> a.virtual()).orElse(false);
 	}
 
+	public static int bulkhead(final Class<?> clazz) {
+		return Optional.ofNullable(clazz).map(m -> m.getAnnotation(ExtJSBulkhead.class)).map(a -> a.value()).orElse(0);
+	}
+	
+	public static int bulkhead(final Method method) {
+		return Optional.ofNullable(method).map(m -> m.getAnnotation(ExtJSBulkhead.class)).map(a -> a.value()).orElse(0);
+	}
+
+	/**
+	 * Method execution timeout from ExtJSMethod, or ExtJSAsync at method or class level
+	 * @param method
+	 * @return timeout in milliseconds, 0 if not limited
+	 */
+	public static long timeout(final Method method) {
+		final long timeout = extAnnotation(method).map(a -> a.timeout()).orElse(0L);
+		if (timeout > 0) return timeout;
+		return Optional.ofNullable(method)
+				.map(m -> Optional.ofNullable(m.getAnnotation(ExtJSAsync.class)).orElse(m.getDeclaringClass().getAnnotation(ExtJSAsync.class)))
+				.map(a -> a.timeout())
+				.orElse(0L);
+	}
+
+	/**
+	 * Execution lane from ExtJSAsync at method or class level
+	 * @param method
+	 * @return lane name, or null if not defined
+	 */
+	public static String lane(final Method method) {
+		return Optional.ofNullable(method)
+				.map(m -> Optional.ofNullable(m.getAnnotation(ExtJSAsync.class)).orElse(m.getDeclaringClass().getAnnotation(ExtJSAsync.class)))
+				.map(a -> a.lane())
+				.filter(l -> !l.isEmpty())
+				.orElse(null);
+	}
+
 	public static boolean isValidate(final Method method) {
 		return extAnnotation(method).map(a -> a.validate()).orElse(false);
 	}
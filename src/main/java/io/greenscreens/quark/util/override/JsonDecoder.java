@@ -4,7 +4,10 @@
 package io.greenscreens.quark.util.override;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
@@ -17,8 +20,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
@@ -29,9 +34,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import io.greenscreens.quark.util.QuarkUtil;
 
@@ -46,12 +53,15 @@ public final class JsonDecoder<T> {
 	private MappingIterator<T> objectList;
 
 	private static final ObjectMapper OBJECT_MAPPER;
+	private static final ObjectWriter STREAM_WRITER;
 
 	/**
 	 * Initialize object mapper
 	 */
 	static {
-		OBJECT_MAPPER = new ObjectMapper();
+		// shared buffer pool, thread local pool is not reused by virtual threads 
+		final JsonFactory factory = JsonFactory.builder().recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()).build();
+		OBJECT_MAPPER = new ObjectMapper(factory);
 		
 		// Use optimizer if available
 		try {
@@ -74,6 +84,8 @@ public final class JsonDecoder<T> {
 
 		OBJECT_MAPPER.enable(SerializationFeature.WRITE_ENUMS_USING_INDEX);
 
+		STREAM_WRITER = OBJECT_MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
 	}
 	
     public static ObjectWriter writerWith(final Class<?> view) {
@@ -84,9 +96,66 @@ public final class JsonDecoder<T> {
         return OBJECT_MAPPER.readerWithView(view);
     }
 
+    /**
+     * Reusable reader for generic java type
+     * @param type
+     * @return
+     */
+    public static ObjectReader readerFor(final Type type) {
+        return OBJECT_MAPPER.readerFor(OBJECT_MAPPER.constructType(type));
+    }
+
+    /**
+     * Streaming parser bound to shared mapper, used for direct binding
+     * @param data
+     * @param offset
+     * @param len
+     * @return
+     * @throws IOException
+     */
+    public static JsonParser createParser(final byte[] data, final int offset, final int len) throws IOException {
+        return OBJECT_MAPPER.createParser(data, offset, len);
+    }
+
+    public static JsonParser createParser(final InputStream data) throws IOException {
+        return OBJECT_MAPPER.createParser(data);
+    }
+
+    public static JsonParser createParser(final String data) throws IOException {
+        return OBJECT_MAPPER.createParser(data);
+    }
+
+    /**
+     * Non-blocking parser bound to shared mapper, data is fed as it arrives
+     * @return
+     * @throws IOException
+     */
+    public static JsonParser createNonBlockingParser() throws IOException {
+        return OBJECT_MAPPER.createNonBlockingByteArrayParser();
+    }
+
+    /**
+     * Token buffer bound to shared mapper, non-blocking parser has no codec, 
+     * so tokens are replayed through this one
+     * @return
+     */
+    public static TokenBuffer createTokenBuffer() {
+        return new TokenBuffer(OBJECT_MAPPER, false);
+    }
+
     public static ObjectMapper mapper() {
         return OBJECT_MAPPER;
     }
+
+    /**
+     * Serialized property names of a java type
+     * @param type
+     * @return
+     */
+    public static List<String> properties(final Type type) {
+        final JavaType javaType = OBJECT_MAPPER.constructType(type);
+        return OBJECT_MAPPER.getSerializationConfig().introspect(javaType).findProperties().stream().map(BeanPropertyDefinition::getName).toList();
+    }
     
     public static ObjectNode createObjectNode() {
         return OBJECT_MAPPER.createObjectNode();
@@ -274,6 +343,10 @@ public final class JsonDecoder<T> {
 		return Objects.isNull(data) ? null : OBJECT_MAPPER.readTree(data);
 	}
 
+	public static JsonNode parse(final JsonParser parser) throws IOException {
+		return OBJECT_MAPPER.readTree(parser);
+	}
+
 	@SuppressWarnings("unchecked")
 	public static <K extends JsonNode> K parseType(final String data) throws JsonProcessingException {
 		return Objects.isNull(data) ? null : (K) OBJECT_MAPPER.readTree(data);
@@ -304,6 +377,17 @@ public final class JsonDecoder<T> {
 		return Objects.isNull(object) ? null : OBJECT_MAPPER.writeValueAsString(object);
 	}
 
+	/**
+	 * Serialize Object directly into output stream, stream is not closed
+	 * @param output
+	 * @param object
+	 * @throws IOException
+	 */
+	public static void write(final OutputStream output, final Object object) throws IOException {
+		if (Objects.isNull(object)) return;
+		STREAM_WRITER.writeValue(output, object);
+	}
+
     /**
      * Stringify Object with specific view
      * @param object
@@ -12,11 +12,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-import io.greenscreens.quark.QuarkEngine;
-import io.greenscreens.quark.cdi.BeanManagerUtil;
+import io.greenscreens.quark.internal.QuarkApiDescriptor;
 import io.greenscreens.quark.internal.QuarkBuilder;
 import io.greenscreens.quark.internal.QuarkConstants;
 import io.greenscreens.quark.internal.QuarkHandler;
@@ -24,7 +22,6 @@ import io.greenscreens.quark.internal.QuarkHandlerUtil;
 import io.greenscreens.quark.security.IQuarkKey;
 import io.greenscreens.quark.security.QuarkSecurity;
 import io.greenscreens.quark.stream.QuarkStream;
-import io.greenscreens.quark.util.QuarkJson;
 import io.greenscreens.quark.util.QuarkUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -94,15 +91,23 @@ public class QuarkAPIServlet extends QuarkServlet {
 	 * @throws IOException 
 	 */
 	protected void build(final HttpServletRequest request, final HttpServletResponse response, final Collection<String> uri) throws IOException {
-		final ArrayNode api = Objects.isNull(uri) || uri.isEmpty() ? QuarkEngine.getBean(BeanManagerUtil.class).getAPI() : QuarkBuilder.build(uri);
+		final QuarkApiDescriptor descriptor = QuarkApiDescriptor.get(uri);
 		final String challenge = QuarkUtil.normalize(request.getHeader(QuarkConstants.CHALLENGE));
-		final ObjectNode root = QuarkBuilder.buildAPI(api, challenge);
+		final String publicKey = QuarkHandlerUtil.getPublicKey(request);
+		final String etag = descriptor.etag(challenge, publicKey);
+
+		response.setHeader("ETag", etag);
+		response.setHeader("Cache-Control", "no-cache");
+
+		if (etag.equals(request.getHeader("If-None-Match"))) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
 		final boolean compress = ServletUtils.supportGzip(request);
-		
-		final String publicKey = QuarkHandlerUtil.getPublicKey(request);			
 		final IQuarkKey aes = QuarkSecurity.initWebKey(publicKey);
-		final String json = QuarkJson.stringify(root);			
-		final ByteBuffer buff = QuarkStream.wrap(json, aes, compress, root);
+		final String signature = QuarkSecurity.signApiKey(challenge);
+		final ByteBuffer buff = descriptor.toStream(signature, aes, compress);
 		ServletUtils.sendResponse(response, buff, false);
 	}
 	
@@ -7,13 +7,12 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintWriter;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
-import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +22,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.greenscreens.quark.QuarkEngine;
 import io.greenscreens.quark.annotations.ExtJSProtected;
 import io.greenscreens.quark.internal.QuarkConstants;
 import io.greenscreens.quark.internal.QuarkErrors;
@@ -173,16 +173,34 @@ public enum ServletUtils {
     }
 
     public static ByteBuffer getBodyAsBuffer(final HttpServletRequest request) throws IOException {
+        final ByteBuffer buffer = readBody(request);
+        try {
+            return ByteBuffer.wrap(QuarkStream.asBytes(buffer));
+        } finally {
+            QuarkStream.release(buffer);
+        }
+    }
+
+    /**
+     * Read request body into pooled buffer presized from Content-Length,
+     * limited with QuarkEngine.MAX_BODY. 
+     * Buffer must be released with QuarkStream.release when no longer used.
+     * 
+     * @param request
+     * @return
+     * @throws IOException if body is larger than limit
+     */
+    public static ByteBuffer readBody(final HttpServletRequest request) throws IOException {
 
         final boolean isCompress = isGzipped(request);
+        final int size = request.getContentLength();
         final InputStream is = request.getInputStream();
 
         if (isCompress) {
-            return QuarkStream.decompressAsBuffer(is);
+            return QuarkStream.decompressAsPooledBuffer(is, size, QuarkEngine.MAX_BODY);
         } else {
-            return QuarkStream.asBuffer(is, true);
+            return QuarkStream.asPooledBuffer(is, size, QuarkEngine.MAX_BODY);
         }
-
     }
 
     /**
@@ -288,22 +306,9 @@ public enum ServletUtils {
     }
 
     public static <T> boolean sendResponse(final HttpServletResponse response, final T obj, final boolean compress) {
-
-        boolean sts = false;
-        String json = null;
-
-        try {
-            json = QuarkJson.stringify(obj);
-            response.setContentType("application/json");
-            response.setCharacterEncoding("UTF-8");
-            sts = writeResponse(response, json, compress);
-        } catch (JsonProcessingException e) {
-            LOG.error("Failed to encode messages as JSON: {}", json, e);
-            final ObjectNode jsonObject = getResponse(false, e.getMessage());
-            sts = sendResponse(response, jsonObject, compress);
-        }
-
-        return sts;
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        return writeJson(response, obj, compress);
     }
 
     /**
@@ -317,7 +322,7 @@ public enum ServletUtils {
     public static boolean sendResponse(final HttpServletResponse resp, final JsonNode json, final boolean compress) {
         resp.setContentType("application/json");
         resp.setCharacterEncoding("UTF-8");
-        return writeResponse(resp, json.toString(), compress);
+        return writeJson(resp, json, compress);
     }
 
     /**
@@ -358,6 +363,51 @@ public enum ServletUtils {
         return writeResponse(resp, message, compress);
     }
 
+    /**
+     * Serialize object as JSON directly into response stream,
+     * without intermediate String. On serialization error, 
+     * if response is not committed, JSON error response is sent.
+     * 
+     * @param resp
+     * @param obj
+     * @param compress
+     * @return
+     */
+    public static boolean writeJson(final HttpServletResponse resp, final Object obj, final boolean compress) {
+        boolean sts = false;
+        OutputStream out = null;
+        try {
+            if (resp.isCommitted()) return sts;
+
+            out = resp.getOutputStream();
+            if (compress) {
+                resp.setHeader("Content-Encoding", "gzip");
+                out = QuarkStream.gzip(out, false);
+            }
+
+            QuarkJson.write(out, obj);
+            out.flush();
+            out.close();
+            sts = true;
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to encode messages as JSON: {}", QuarkUtil.toMessage(e));
+            LOG.debug(e.getMessage(), e);
+            // partial output is dropped, error is written with new stream and same encoding
+            QuarkStream.release(out);
+            if (!resp.isCommitted()) {
+                resp.resetBuffer();
+                sts = sendResponse(resp, getResponse(false, e.getMessage()), compress);
+            }
+        } catch (IOException e) {
+            final String msg = QuarkUtil.toMessage(e);
+            LOG.error(msg);
+            LOG.debug(msg, e);
+        } finally {
+            QuarkStream.release(out);
+        }
+        return sts;
+    }
+
     /**
      * Generic string write
      * 
@@ -366,20 +416,21 @@ public enum ServletUtils {
      */
     public static boolean writeResponse(final HttpServletResponse resp, final String message, final boolean compress) {
         boolean sts = false;
+        OutputStream out = null;
         try {
             if (resp.isCommitted())
                 return sts;
-            PrintWriter out = null;
+
+            final byte[] data = QuarkUtil.normalize(message).getBytes(StandardCharsets.UTF_8);
+            out = resp.getOutputStream();
 
             if (compress) {
                 resp.setHeader("Content-Encoding", "gzip");
-                final OutputStream outStream = resp.getOutputStream();
-                out = new PrintWriter(new GZIPOutputStream(outStream), false);
+                out = QuarkStream.gzip(out, false);
             } else {
-                resp.setContentLength(message.length());
-                out = resp.getWriter();
+                resp.setContentLength(data.length);
             }
-            out.print(QuarkUtil.normalize(message));
+            out.write(data);
             out.flush();
             out.close();
             sts = true;
@@ -387,6 +438,8 @@ public enum ServletUtils {
             final String msg = QuarkUtil.toMessage(e);
             LOG.error(msg);
             LOG.debug(msg, e);
+        } finally {
+            QuarkStream.release(out);
         }
         return sts;
     }
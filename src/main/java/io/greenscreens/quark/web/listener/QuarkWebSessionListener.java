@@ -13,8 +13,11 @@ import jakarta.servlet.ServletContextListener;
 import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.HttpSessionActivationListener;
 import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionIdListener;
 import jakarta.servlet.http.HttpSessionListener;
+import io.greenscreens.quark.async.QuarkVirtualExecutor;
 import io.greenscreens.quark.internal.QuarkConstants;
+import io.greenscreens.quark.internal.QuarkResultCache;
 import io.greenscreens.quark.internal.QuarkValidator;
 import io.greenscreens.quark.websocket.heartbeat.HeartbeatService;
 
@@ -24,7 +27,7 @@ import io.greenscreens.quark.websocket.heartbeat.HeartbeatService;
  * tab websocket is still active, so WS has to know session is
  * ended to prevent invalid calls.
  */
-public final class QuarkWebSessionListener implements HttpSessionListener, HttpSessionActivationListener, ServletContextListener {
+public final class QuarkWebSessionListener implements HttpSessionListener, HttpSessionIdListener, HttpSessionActivationListener, ServletContextListener {
 
 	private static final Map<Integer, HttpSession> sessions = new ConcurrentHashMap<>();
 
@@ -35,6 +38,7 @@ public final class QuarkWebSessionListener implements HttpSessionListener, HttpS
 	public void contextDestroyed(final ServletContextEvent event) {
 		QuarkValidator.releaseValidator();
 		HeartbeatService.terminate();
+		QuarkVirtualExecutor.terminate();
 	}
 
 	/**
@@ -56,6 +60,15 @@ public final class QuarkWebSessionListener implements HttpSessionListener, HttpS
 	public void sessionDestroyed(final HttpSessionEvent event) {
 		final HttpSession httpSession = event.getSession();
 		httpSession.setAttribute(QuarkConstants.HTTP_SEESION_STATUS, Boolean.FALSE.toString());
+		QuarkResultCache.release(httpSession.getId());
+	}
+
+	/**
+	 * Session id changed (e.g. after login), cached results are not carried over
+	 */
+	@Override
+	public void sessionIdChanged(final HttpSessionEvent event, final String oldSessionId) {
+		QuarkResultCache.release(oldSessionId);
 	}
 	
 	public static Map<Integer, HttpSession> get() {
@@ -19,6 +19,9 @@ import jakarta.websocket.server.ServerEndpointConfig;
 import io.greenscreens.quark.internal.QuarkConstants;
 import io.greenscreens.quark.security.IQuarkKey;
 import io.greenscreens.quark.security.QuarkSecurity;
+import io.greenscreens.quark.stream.IQuarkCodec;
+import io.greenscreens.quark.stream.QuarkCodecs;
+import io.greenscreens.quark.stream.QuarkDictionary;
 import io.greenscreens.quark.util.QuarkUtil;
 import io.greenscreens.quark.web.listener.QuarkWebSessionListener;
 
@@ -59,6 +62,41 @@ public class WebSocketConfigurator extends ServerEndpointConfig.Configurator {
         return findCompression(request).map(c -> "true".equalsIgnoreCase(c)).orElse(false);
     }
 
+    /**
+     * Find query parameter z, comma separated list of codecs supported 
+     * by the client, ordered by preference
+     * 
+     * @param request
+     * @return
+     */
+    Optional<String> findCodecs(final HandshakeRequest request) {
+        return WebsocketUtil.findQuery(request, "z");
+    }
+
+    /**
+     * Find query parameter d, id of preset dictionary received in API descriptor
+     * 
+     * @param request
+     * @return null if not sent, or dictionary is expired
+     */
+    QuarkDictionary findDictionary(final HandshakeRequest request) {
+        return WebsocketUtil.findQuery(request, "d")
+                .map(d -> QuarkDictionary.get((int) QuarkUtil.toLong(d)))
+                .orElse(null);
+    }
+
+    /**
+     * Negotiate compression codec, gzip if not requested or not supported.
+     * Stateful codecs get new instance for the connection.
+     * 
+     * @param request
+     * @return null if compression is disabled
+     */
+    IQuarkCodec findCodec(final HandshakeRequest request) {
+        if (!isCompression(request)) return null;
+        return QuarkCodecs.negotiate(findCodecs(request).orElse(null)).forSession();
+    }
+
 	/**
 	 * ECDH browser public key
 	 * @param request
@@ -124,6 +162,8 @@ public class WebSocketConfigurator extends ServerEndpointConfig.Configurator {
 
         final Locale locale = WebsocketUtil.getLocale(request);
         final boolean isCompression = isCompression(request);
+        final IQuarkCodec codec = findCodec(request);
+        final QuarkDictionary dictionary = Objects.nonNull(codec) && codec.isDictionary() ? findDictionary(request) : null;
         final IQuarkKey aesKey = QuarkSecurity.initWebKey(publicKey);
 
         response.getHeaders().put("Accept-Language", LANG); 
@@ -133,6 +173,16 @@ public class WebSocketConfigurator extends ServerEndpointConfig.Configurator {
         WebSocketStorage.store(sec, QuarkConstants.ENCRYPT_ENGINE, aesKey);
         WebSocketStorage.store(sec, QuarkConstants.QUARK_PATH, sec.getPath());
         WebSocketStorage.store(sec, QuarkConstants.QUARK_COMPRESSION, isCompression);
+        if (Objects.nonNull(codec)) {
+            WebSocketStorage.store(sec, QuarkConstants.QUARK_CODEC, codec);
+        } else {
+            WebSocketStorage.remove(sec, QuarkConstants.QUARK_CODEC);
+        }
+        if (Objects.nonNull(dictionary)) {
+            WebSocketStorage.store(sec, QuarkConstants.QUARK_DICTIONARY, dictionary);
+        } else {
+            WebSocketStorage.remove(sec, QuarkConstants.QUARK_DICTIONARY);
+        }
         if (challenge.isPresent()) {
             WebSocketStorage.store(sec, QuarkConstants.QUARK_CHALLENGE, challenge.get());
         }
@@ -14,15 +14,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.greenscreens.quark.QuarkProducer;
 import io.greenscreens.quark.cdi.BeanManagerUtil;
 import io.greenscreens.quark.ext.ExtJSDirectRequest;
-import io.greenscreens.quark.internal.QuarkBuilder;
+import io.greenscreens.quark.internal.QuarkApiDescriptor;
 import io.greenscreens.quark.internal.QuarkConstants;
 import io.greenscreens.quark.internal.QuarkHandler;
+import io.greenscreens.quark.security.QuarkSecurity;
 import io.greenscreens.quark.util.QuarkUtil;
 import io.greenscreens.quark.websocket.data.IWebSocketResponse;
 import io.greenscreens.quark.websocket.data.WebSocketInstruction;
@@ -232,9 +231,16 @@ public class WebSocketEndpoint {
 		final String challenge = session.get(QuarkConstants.QUARK_CHALLENGE);
 		final WebSocketResponse wsResponse = new WebSocketResponse(WebSocketInstruction.API);		
 		
-		final ArrayNode api = beanManagerUtil.getAPI();
-		final ObjectNode root = QuarkBuilder.buildAPI(api, challenge); 
-		wsResponse.setData(root);		
+		try {
+			final QuarkApiDescriptor descriptor = QuarkApiDescriptor.get(null);
+			final String signature = QuarkSecurity.signApiKey(challenge);
+			wsResponse.setData(descriptor.toNode(signature));
+		} catch (IOException e) {
+			final String msg = QuarkUtil.toMessage(e);
+			LOG.error(msg);
+			LOG.debug(msg, e);
+			return false;
+		}
 			
 		session.sendResponse(wsResponse);
 		return true;
@@ -267,10 +273,7 @@ public class WebSocketEndpoint {
 	private void processData(final WebSocketSession session, final WebSocketRequest wsMessage) {
 
 		final List<ExtJSDirectRequest<JsonNode>> requests = wsMessage.getData();
-		
-		for (final ExtJSDirectRequest<JsonNode> request : requests) {
-			QuarkHandler.call(session, request);
-		}
+		QuarkHandler.call(session, requests);
 		
 	}
 }
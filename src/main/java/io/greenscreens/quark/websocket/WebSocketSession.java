@@ -33,6 +33,8 @@ import jakarta.websocket.WebSocketContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.greenscreens.quark.internal.QuarkConstants;
+import io.greenscreens.quark.stream.IQuarkCodec;
 import io.greenscreens.quark.util.ConcurrentFuture;
 import io.greenscreens.quark.util.QuarkUtil;
 import io.greenscreens.quark.web.ServletUtils;
@@ -158,7 +160,7 @@ public class WebSocketSession implements Session, Comparable<WebSocketSession> {
 
         try {
 
-            if (async) {
+            if (async && !isOrdered()) {
                 Future<Void> future = session.getAsyncRemote().sendObject(object);
                 if (!future.isDone())
                     getAsyncRequests().add(ConcurrentFuture.create(future));
@@ -189,6 +191,15 @@ public class WebSocketSession implements Session, Comparable<WebSocketSession> {
         return success;
     }
 
+    /**
+     * Stateful compression requires frames to be encoded and sent in order,
+     * so binary frames are sent synchronously under session lock
+     */
+    private boolean isOrdered() {
+        final IQuarkCodec codec = WebSocketStorage.get(session, QuarkConstants.QUARK_CODEC);
+        return Objects.nonNull(codec) && codec.isStateful();
+    }
+
     public final boolean sendText(final String object) {
         return sendText(object, false);
     }
@@ -447,4 +458,4 @@ public class WebSocketSession implements Session, Comparable<WebSocketSession> {
         if (lh == rh) return 0;
         return (lh > rh) ? 1 : -1;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -15,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.greenscreens.quark.security.IQuarkKey;
+import io.greenscreens.quark.stream.IQuarkCodec;
 import io.greenscreens.quark.stream.QuarkStream;
 import io.greenscreens.quark.util.QuarkUtil;
 import io.greenscreens.quark.websocket.data.WebSocketRequest;
@@ -28,15 +29,18 @@ public class WebsocketDecoderBinary implements Decoder.Binary<WebSocketRequest>
 	private static final Logger LOG = LoggerFactory.getLogger(WebsocketDecoderBinary.class);
 	
 	IQuarkKey key = null;
+	IQuarkCodec codec = null;
 
 	@Override
 	public void init(final EndpointConfig config) {		
 		key = WebsocketUtil.key(config);
+		codec = WebsocketUtil.codec(config);
 	}
 
 	@Override
 	public void destroy() {
 	    key = null;
+	    codec = null;
 	}
 
 	@Override
@@ -47,9 +51,8 @@ public class WebsocketDecoderBinary implements Decoder.Binary<WebSocketRequest>
 	@Override
 	public WebSocketRequest decode(final ByteBuffer buffer) throws DecodeException {		
 		try {
-			final ByteBuffer data = QuarkStream.unwrap(buffer, key);
-			final String message = QuarkStream.asString(data);
-            final WebSocketRequest request = WebsocketUtil.decode(message);
+			final ByteBuffer data = QuarkStream.unwrap(buffer, key, codec);
+            final WebSocketRequest request = WebsocketUtil.decode(data);
             WebsocketUtil.decode(request, key);
             return request;
 		} catch (IOException e) {
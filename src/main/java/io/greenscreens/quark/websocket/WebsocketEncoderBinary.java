@@ -5,11 +5,13 @@ package io.greenscreens.quark.websocket;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Objects;
 
 import jakarta.enterprise.inject.Vetoed;
 import jakarta.websocket.EncodeException;
 import jakarta.websocket.Encoder;
 import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.server.ServerEndpointConfig;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +19,8 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.greenscreens.quark.security.IQuarkKey;
+import io.greenscreens.quark.stream.IQuarkCodec;
+import io.greenscreens.quark.stream.QuarkDictionary;
 import io.greenscreens.quark.stream.QuarkStream;
 import io.greenscreens.quark.util.QuarkUtil;
 import io.greenscreens.quark.websocket.data.WebSocketInstruction;
@@ -31,18 +35,25 @@ public class WebsocketEncoderBinary implements Encoder.Binary<WebSocketResponse>
 	private static final Logger LOG = LoggerFactory.getLogger(WebsocketEncoderBinary.class);
 
     IQuarkKey key = null;
-    boolean compression = false;        
+    IQuarkCodec codec = null;
+    QuarkDictionary dictionary = null;
+    String endpoint = null;
 
 	@Override
 	public void init(final EndpointConfig config) {
         key = WebsocketUtil.key(config);
-        compression = WebsocketUtil.isCompression(config);        
+        codec = WebsocketUtil.codec(config);
+        dictionary = WebsocketUtil.dictionary(config);
+        endpoint = config instanceof ServerEndpointConfig sec ? sec.getPath() : null;
 	}
 
 	@Override
 	public void destroy() {
 	    key = null;
-	    compression = false;
+	    if (Objects.nonNull(codec)) codec.release();
+	    codec = null;
+	    dictionary = null;
+	    endpoint = null;
 	}
 	
 	@Override
@@ -53,9 +64,8 @@ public class WebsocketEncoderBinary implements Encoder.Binary<WebSocketResponse>
 		
 		try {
 			final boolean isAPI = data.getCmd() == WebSocketInstruction.API ;			
-			final String wsmsg = WebsocketUtil.encode(data, null);
 			if (isAPI) node = (ObjectNode) data.getData();
-			buff = QuarkStream.wrap(wsmsg, key, compression, node);
+			buff = QuarkStream.encode(data, key, codec, isAPI ? null : dictionary, node, endpoint);
 		} catch (IOException e) {
 			final String msg = QuarkUtil.toMessage(e);
 			LOG.error(msg);
@@ -21,10 +21,15 @@ import jakarta.websocket.DecodeException;
 import jakarta.websocket.EncodeException;
 import jakarta.websocket.EndpointConfig;
 import jakarta.websocket.server.HandshakeRequest;
+import io.greenscreens.quark.QuarkEngine;
 import io.greenscreens.quark.internal.QuarkConstants;
 import io.greenscreens.quark.internal.QuarkDecoder;
+import io.greenscreens.quark.internal.QuarkRequestDecoder;
 import io.greenscreens.quark.security.IQuarkKey;
 import io.greenscreens.quark.security.QuarkSecurity;
+import io.greenscreens.quark.stream.IQuarkCodec;
+import io.greenscreens.quark.stream.QuarkDictionary;
+import io.greenscreens.quark.stream.QuarkStream;
 import io.greenscreens.quark.util.QuarkJson;
 import io.greenscreens.quark.util.QuarkUtil;
 import io.greenscreens.quark.web.QuarkCookieUtil;
@@ -47,13 +52,22 @@ public enum WebsocketUtil {
 	final static boolean isCompression(final EndpointConfig config) {
 		return WebSocketStorage.get(config, QuarkConstants.QUARK_COMPRESSION, false);		
 	}
+
+	final static IQuarkCodec codec(final EndpointConfig config) {
+		return WebSocketStorage.get(config, QuarkConstants.QUARK_CODEC, null);		
+	}
+
+	final static QuarkDictionary dictionary(final EndpointConfig config) {
+		return WebSocketStorage.get(config, QuarkConstants.QUARK_DICTIONARY, null);		
+	}
 	
 	final static WebSocketRequest decode(final ByteBuffer buffer) throws IOException {
-		final String message = new String(buffer.array(), StandardCharsets.UTF_8);
-		return decode(message);
+		if (QuarkEngine.STREAMING) return QuarkRequestDecoder.decodeWS(buffer);
+		return decode(QuarkStream.asString(buffer));
 	}
 	
 	final static WebSocketRequest decode(final String message) throws IOException {
+		if (QuarkEngine.STREAMING) return QuarkRequestDecoder.decodeWS(message);
 		return QuarkJson.parse(WebSocketRequest.class, message);
 	}
 	
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2015, 2026 Green Screens Ltd.
+ */
+
+/**
+ * Builds bundled client into ../resources
+ * npm install && npm run build
+ *
+ * Modules are concatenated in dependency order, imports and exports
+ * are blanked in place, so source maps point to original positions.
+ * Default import name must match exported class name.
+ */
+import { readFileSync, writeFileSync } from 'node:fs';
+import { minify } from 'terser';
+
+const SRC = 'modules/';
+const OUT = '../resources/';
+const MAP_ROOT = '../js/modules/';
+
+// dependency order
+const MODULES = [
+	'core/Buffer.mjs',
+	'core/Event.mjs',
+	'core/Streams.mjs',
+	'core/Inflater.mjs',
+	'core/Security.mjs',
+	'core/Queue.mjs',
+	'core/Request.mjs',
+	'core/Generator.mjs',
+	'core/SocketChannel.mjs',
+	'core/WebChannel.mjs',
+	'core/QuarkEngine.mjs'
+];
+
+const IMPORT = /^import\s+(\w+)\s+from\s+['"]\.\/([\w.]+)['"];?/gm;
+const EXPORT = /^export default class (\w+)/m;
+const REEXPORT = /export\s*\{\s*default as (\w+)\s*\}\s*from\s*['"]\.\/([\w./]+)['"]/g;
+
+const blank = (text) => text.replace(/[^\r\n]/g, ' ');
+
+function load() {
+
+	const names = {};
+	const sources = {};
+
+	MODULES.forEach((path) => {
+		const code = readFileSync(SRC + path, 'utf8');
+		const match = code.match(EXPORT);
+		if (!match) throw new Error(`No default class export in ${path}`);
+		names[path] = match[1];
+		sources[path] = code;
+	});
+
+	const files = {};
+
+	MODULES.forEach((path) => {
+		let code = sources[path];
+		code = code.replace(IMPORT, (text, local, file) => {
+			const name = names['core/' + file];
+			if (local !== name) throw new Error(`Import ${local} in ${path} must be named ${name}`);
+			return blank(text);
+		});
+		code = code.replace(EXPORT, (text, name) => blank('export default ') + 'class ' + name);
+		files[MAP_ROOT + path] = code;
+	});
+
+	return { sources, files };
+}
+
+function exportsOf(entry) {
+	const code = readFileSync(SRC + entry, 'utf8');
+	return [...code.matchAll(REEXPORT)].map(m => {
+		if (!MODULES.includes(m[2].replace('./', ''))) throw new Error(`Unknown module ${m[2]}`);
+		return m[1];
+	});
+}
+
+async function bundle(name, entry, footer) {
+
+	const { sources, files } = load();
+	files[MAP_ROOT + entry] = footer;
+
+	const result = await minify(files, {
+		module: true,
+		ecma: 2022,
+		keep_classnames: true,
+		format: { quote_style: 1 },
+		sourceMap: {
+			filename: name,
+			url: name + '.map',
+			includeSources: true
+		}
+	});
+
+	const map = JSON.parse(result.map);
+	map.sourcesContent = map.sources.map(s => sources[s.replace(MAP_ROOT, '')] ?? files[s]);
+
+	writeFileSync(OUT + name, result.code + '\n');
+	writeFileSync(OUT + name + '.map', JSON.stringify(map));
+	console.log(`${name} ${result.code.length} bytes`);
+}
+
+const names = exportsOf('index.esm.mjs');
+
+await bundle('io.greenscreens.quark.esm.min.js', 'index.esm.mjs', `export { ${names.join(', ')} };\n`);
+await bundle('io.greenscreens.quark.min.js', 'index.mjs', `globalThis.QuarkEngine = Object.freeze({ __proto__: null, ${names.join(', ')} });\n`);
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2015, 2026 Green Screens Ltd.
+ */
+
+import QuarkStreams from './Streams.mjs';
+
+/**
+ * Raw deflate with context takeover (deflate-context),
+ * one instance per connection, as frames reference earlier ones.
+ * Frame is uint32 inflated length, followed by deflate data
+ * without trailing 00 00 FF FF, which is appended here.
+ */
+export default class QuarkInflater {
+
+	static #TAIL = new Uint8Array([0, 0, 255, 255]);
+
+	#stream = new DecompressionStream('deflate-raw');
+	#writer = this.#stream.writable.getWriter();
+	#reader = this.#stream.readable.getReader();
+	#queue = Promise.resolve();
+
+	/**
+	 * Inflate frame, calls are processed in call order
+	 * @param {ArrayBuffer|Uint8Array} data 
+	 * @returns {Promise<Uint8Array>}
+	 */
+	inflate(data) {
+		const me = this;
+		const result = me.#queue.catch(() => null).then(() => me.#inflate(data));
+		me.#queue = result;
+		return result;
+	}
+
+	async #inflate(data) {
+
+		const me = this;
+		data = QuarkStreams.toBinary(data);
+
+		const dv = new DataView(data.buffer, data.byteOffset, data.byteLength);
+		const length = dv.getUint32(0);
+
+		// empty frame has no deflate data
+		if (length === 0) return new Uint8Array(0);
+
+		me.#writer.write(data.subarray(4)).catch(() => null);
+		me.#writer.write(QuarkInflater.#TAIL).catch(() => null);
+
+		// next frame is written only when this one is read,
+		// so output can not be longer than declared length
+		const raw = new Uint8Array(length);
+		let pos = 0;
+
+		while (pos < length) {
+			const { value, done } = await me.#reader.read();
+			if (done || value.length > length - pos) throw new Error('Invalid response');
+			raw.set(value, pos);
+			pos += value.length;
+		}
+
+		return raw;
+	}
+
+	close() {
+		this.#writer.close().catch(() => null);
+	}
+
+}
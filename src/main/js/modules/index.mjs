@@ -0,0 +1,4 @@
+
+import * as QuarkEngine from './index.esm.mjs';
+
+globalThis.QuarkEngine = QuarkEngine;
\ No newline at end of file
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class QuarkBulkheadTest {
+
+	@Test
+	void concurrentCallsNeverExceedLimit() throws InterruptedException {
+
+		final int limit = 3;
+		final int threads = 16;
+		final int rounds = 2_000;
+
+		final QuarkBulkhead bulkhead = QuarkBulkhead.of("test.concurrent", limit);
+		final AtomicInteger inside = new AtomicInteger();
+		final AtomicInteger peak = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> workers = new ArrayList<>();
+
+		for (int t = 0; t < threads; t++) {
+			workers.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < rounds; i++) {
+					if (!bulkhead.tryAcquire()) continue;
+					try {
+						peak.accumulateAndGet(inside.incrementAndGet(), Math::max);
+						Thread.onSpinWait();
+					} finally {
+						inside.decrementAndGet();
+						bulkhead.release();
+					}
+				}
+			}));
+		}
+
+		start.countDown();
+		for (Thread worker : workers) worker.join();
+
+		assertTrue(peak.get() <= limit, "peak " + peak.get());
+		assertEquals(0, bulkhead.getActive());
+		assertEquals((long) threads * rounds, bulkhead.getAccepted() + bulkhead.getRejected());
+	}
+
+	@Test
+	void limitIsAppliedAtRuntime() {
+
+		final QuarkBulkhead bulkhead = QuarkBulkhead.of("test.runtime", 1);
+		assertTrue(bulkhead.tryAcquire());
+		assertFalse(bulkhead.tryAcquire());
+
+		bulkhead.setLimit(2);
+		assertTrue(bulkhead.tryAcquire());
+		assertFalse(bulkhead.tryAcquire());
+
+		bulkhead.release();
+		bulkhead.release();
+		assertEquals(0, bulkhead.getActive());
+		assertEquals(2, bulkhead.getRejected());
+	}
+
+	@Test
+	void unlimitedIsNotRegistered() {
+
+		final QuarkBulkhead bulkhead = QuarkBulkhead.of("test.redeploy", 2);
+		assertSame(bulkhead, QuarkBulkhead.of("test.redeploy", 5));
+		assertEquals(5, bulkhead.getLimit());
+
+		assertNull(QuarkBulkhead.of("test.redeploy", 0));
+		assertFalse(QuarkBulkhead.all().containsKey("test.redeploy"));
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.greenscreens.quark.async.QuarkBulkhead;
+import io.greenscreens.quark.cdi.IDestructibleBeanInstance;
+import io.greenscreens.quark.ext.ExtJSResponse;
+import io.greenscreens.quark.reflection.IQuarkHandle;
+import io.greenscreens.quark.reflection.IQuarkInvoker;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Call deadline against controller completion, every call must
+ * produce exactly one response, one async complete and return its permit.
+ */
+class QuarkDeadlineTest {
+
+	@Test
+	void expiredCallIsInterrupted() throws Exception {
+
+		final AtomicInteger interrupted = new AtomicInteger();
+		final Call call = new Call("test.deadline.expire", 50, (bean, args) -> {
+			try {
+				Thread.sleep(10_000);
+			} catch (InterruptedException e) {
+				interrupted.incrementAndGet();
+				throw e;
+			}
+			return "late";
+		});
+
+		call.run();
+
+		assertEquals(1, interrupted.get());
+		assertEquals(QuarkErrors.E7777.getCode(), call.responses.get(0).getCode());
+	}
+
+	@Test
+	void completionRacesDeadline() throws Exception {
+		for (int i = 0; i < 200; i++) {
+			final int spin = i % 4;
+			new Call("test.deadline.race", 1, (bean, args) -> {
+				final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(spin);
+				while (System.nanoTime() < end) Thread.onSpinWait();
+				return "ok";
+			}).run();
+		}
+	}
+
+	static final class Call {
+
+		final List<ExtJSResponse> responses = new CopyOnWriteArrayList<>();
+		final AtomicInteger completed = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(1);
+		final QuarkBulkhead bulkhead;
+		final QuarkHandler handler;
+		final IQuarkHandle handle;
+
+		Call(final String name, final long timeout, final IQuarkInvoker invoker) throws Exception {
+
+			bulkhead = QuarkBulkhead.of(name, 1);
+
+			final AsyncContext context = stub(AsyncContext.class, Map.of("complete", (Runnable) () -> {
+				completed.incrementAndGet();
+				done.countDown();
+			}));
+			final HttpServletRequest request = stub(HttpServletRequest.class, Map.of(
+					"isAsyncSupported", true,
+					"startAsync", context));
+			final HttpServletResponse response = stub(HttpServletResponse.class, Map.of());
+
+			final IDestructibleBeanInstance<?> instance = stub(IDestructibleBeanInstance.class, Map.of("getInstance", new Object()));
+			final Method method = Object.class.getMethod("toString");
+
+			handle = stub(IQuarkHandle.class, Map.of(
+					"isAsync", true,
+					"isVirtual", true,
+					"timeout", timeout,
+					"method", method,
+					"invoker", invoker,
+					"instance", instance,
+					"bulkhead", bulkhead,
+					"toString", name));
+
+			handler = new QuarkHandler(request, response, null, "/api") {
+				@Override
+				public boolean send(final ExtJSResponse result) {
+					responses.add(result);
+					return true;
+				}
+			};
+		}
+
+		void run() throws InterruptedException {
+			QuarkBeanCaller.get(handler, handle, new Object[0]).call();
+			assertTrue(done.await(5, TimeUnit.SECONDS), "async context not completed");
+			// late completion or timeout response would arrive after complete
+			Thread.sleep(5);
+			assertEquals(1, responses.size());
+			assertEquals(1, completed.get());
+			assertEquals(0, bulkhead.getActive());
+		}
+	}
+
+	/**
+	 * Interface stub, Runnable values are executed, missing values are type defaults
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T stub(final Class<?> type, final Map<String, Object> values) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			final Object value = values.get(method.getName());
+			if (value instanceof Runnable task && method.getReturnType() == void.class) {
+				task.run();
+				return null;
+			}
+			if (value != null) return value;
+			if (method.getName().equals("hashCode")) return System.identityHashCode(proxy);
+			if (method.getName().equals("equals")) return proxy == args[0];
+			final Class<?> ret = method.getReturnType();
+			if (ret == boolean.class) return false;
+			if (ret == long.class) return 0L;
+			if (ret == int.class) return 0;
+			return null;
+		});
+	}
+
+}
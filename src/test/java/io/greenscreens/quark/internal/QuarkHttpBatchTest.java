@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.greenscreens.quark.ext.ExtJSDirectResponse;
+import io.greenscreens.quark.security.IQuarkKey;
+import io.greenscreens.quark.security.QuarkKeys;
+import io.greenscreens.quark.stream.QuarkCodecs;
+import io.greenscreens.quark.stream.QuarkStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+class QuarkHttpBatchTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@Test
+	void binaryFramesSplitByHeaderLength() throws IOException {
+
+		final IQuarkKey key = QuarkKeys.of("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		final List<String> results = results();
+
+		final QuarkHttpBatch batch = new QuarkHttpBatch(response(body), null, key, QuarkCodecs.gzip(), null, true, true, results.size());
+		for (int i = 0; i < results.size(); i++) batch.offer(response(i, results.get(i)));
+
+		final ByteBuffer stream = ByteBuffer.wrap(body.toByteArray());
+		final List<JsonNode> frames = new ArrayList<>();
+
+		while (stream.hasRemaining()) {
+			final ByteBuffer frame = stream.slice();
+			final int size = 8 + QuarkStream.length(frame);
+			frame.limit(size);
+			assertTrue(QuarkStream.isGSStream(frame));
+			stream.position(stream.position() + size);
+			frames.add(MAPPER.readTree(QuarkStream.asString(QuarkStream.unwrap(frame, key))));
+		}
+
+		assertEquals(results.size(), frames.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(String.valueOf(i), frames.get(i).get("tid").asText());
+			assertEquals(results.get(i), frames.get(i).get("result").asText());
+		}
+	}
+
+	@Test
+	void jsonFramesOnePerLine() throws IOException {
+
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		final List<String> results = results();
+
+		final QuarkHttpBatch batch = new QuarkHttpBatch(response(body), null, null, null, null, false, false, results.size());
+		for (int i = 0; i < results.size(); i++) batch.offer(response(i, results.get(i)));
+
+		final String[] lines = body.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(results.size(), lines.length);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(results.get(i), MAPPER.readTree(lines[i]).get("result").asText());
+		}
+	}
+
+	@Test
+	void emptyBatchClosesStream() throws IOException {
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		final QuarkHttpBatch batch = new QuarkHttpBatch(response(body), null, null, null, null, true, false, 0);
+		batch.offer(response(0, "late"));
+		assertEquals(0, body.size());
+	}
+
+	/**
+	 * Payloads with new lines and header like bytes, small and compressible
+	 */
+	private static List<String> results() {
+		return List.of("a\nb", "GS\u0005", "x".repeat(20_000), "", "line\n".repeat(300));
+	}
+
+	private static ExtJSDirectResponse<?> response(final int tid, final String result) {
+		final ExtJSDirectResponse<Object> response = new ExtJSDirectResponse<>(null, result);
+		response.setTid(String.valueOf(tid));
+		return response;
+	}
+
+	private static HttpServletResponse response(final ByteArrayOutputStream body) {
+
+		final ServletOutputStream out = new ServletOutputStream() {
+
+			@Override
+			public void write(final int b) {
+				body.write(b);
+			}
+
+			@Override
+			public void write(final byte[] b, final int off, final int len) {
+				body.write(b, off, len);
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(final WriteListener listener) {
+			}
+		};
+
+		return (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(), new Class<?>[] { HttpServletResponse.class },
+				(proxy, method, args) -> "getOutputStream".equals(method.getName()) ? out : null);
+	}
+
+}
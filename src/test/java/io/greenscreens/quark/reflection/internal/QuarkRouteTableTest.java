@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.reflection.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.greenscreens.quark.reflection.IQuarkBean;
+import io.greenscreens.quark.reflection.IQuarkHandle;
+
+class QuarkRouteTableTest {
+
+	@Test
+	void resolvesEveryRegisteredId() {
+
+		final List<IQuarkHandle> handles = new ArrayList<>();
+		// ids spread by multiples of capacity to force probing on same slot chain
+		for (long i = 0; i < 500; i++) handles.add(handle(i * 1024));
+
+		final QuarkRouteTable table = new QuarkRouteTable(List.of(bean(handles, "/api")));
+
+		assertEquals(500, table.size());
+		for (IQuarkHandle handle : handles) assertSame(handle, table.get(handle.id()));
+		assertNull(table.get(7));
+	}
+
+	@Test
+	void lastRegisteredWinsOnDuplicateId() {
+
+		final IQuarkHandle first = handle(42);
+		final IQuarkHandle second = handle(42);
+		final IQuarkHandle other = handle(43);
+
+		final QuarkRouteTable table = new QuarkRouteTable(List.of(
+				bean(List.of(first, other), "/a"),
+				bean(List.of(second), "/b")));
+
+		assertEquals(2, table.size());
+		assertSame(second, table.get(42));
+		assertSame(other, table.get(43));
+
+		// access follows the winning registration
+		assertTrue(table.accept(42, "/b"));
+		assertFalse(table.accept(42, "/a"));
+		assertTrue(table.accept(43, "/a"));
+	}
+
+	@Test
+	void wildcardAcceptsAnyPath() {
+
+		final QuarkRouteTable table = new QuarkRouteTable(List.of(
+				bean(List.of(handle(1)), "*"),
+				bean(List.of(handle(2)), "/a")));
+
+		assertTrue(table.accept(1, "/x"));
+		assertFalse(table.accept(2, "/x"));
+		assertFalse(table.accept(1, null));
+		assertFalse(table.accept(3, "/a"));
+	}
+
+	private static IQuarkHandle handle(final long id) {
+		return (IQuarkHandle) Proxy.newProxyInstance(IQuarkHandle.class.getClassLoader(), new Class<?>[] { IQuarkHandle.class },
+				(proxy, method, args) -> switch (method.getName()) {
+					case "id" -> id;
+					case "toString" -> "handle-" + id;
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					default -> null;
+				});
+	}
+
+	private static IQuarkBean bean(final Collection<IQuarkHandle> handles, final String... paths) {
+		return (IQuarkBean) Proxy.newProxyInstance(IQuarkBean.class.getClassLoader(), new Class<?>[] { IQuarkBean.class },
+				(proxy, method, args) -> switch (method.getName()) {
+					case "handles" -> handles;
+					case "paths" -> paths;
+					case "toString" -> "bean" + Arrays.toString(paths);
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					default -> null;
+				});
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.security;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.greenscreens.quark.security.override.AesKeys;
+import io.greenscreens.quark.stream.QuarkStream;
+import io.greenscreens.quark.util.QuarkJson;
+
+/**
+ * Bytes allocated per encrypted binary frame, QuarkStream.wrap over
+ * stringified JSON against single pass QuarkStream.encode.
+ * Measured on current thread with ThreadMXBean, after warm up.
+ *
+ * Arguments: [rows (200)] [frames (5000)]
+ */
+public enum FrameEncodeBenchmark {
+	;
+
+	public static void main(final String[] args) throws Exception {
+
+		final int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		final int frames = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+		final IQuarkKey key = QuarkKey.create(AesKeys.of(new byte[32]));
+		final List<Map<String, Object>> data = grid(rows);
+		final com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		System.out.printf("rows=%d json=%d bytes frames=%d%n", rows, QuarkJson.stringify(data).length(), frames);
+
+		for (final boolean compress : new boolean[] { false, true }) {
+
+			run(data, key, compress, false, frames);
+			run(data, key, compress, true, frames);
+
+			final long json = measure(mx, frames, () -> QuarkJson.stringify(data));
+			final long wrap = measure(mx, frames, () -> run(data, key, compress, false, 1));
+			final long encode = measure(mx, frames, () -> run(data, key, compress, true, 1));
+
+			System.out.printf("compress=%s stringify=%d wrap=%d encode=%d bytes/frame%n", compress, json, wrap, encode);
+		}
+	}
+
+	private static void run(final Object data, final IQuarkKey key, final boolean compress, final boolean encode, final int count) throws Exception {
+		for (int i = 0; i < count; i++) {
+			if (encode) {
+				QuarkStream.encode(data, key, compress, null);
+			} else {
+				QuarkStream.wrap(QuarkJson.stringify(data), key, compress, null);
+			}
+		}
+	}
+
+	private static long measure(final com.sun.management.ThreadMXBean mx, final int count, final Task task) throws Exception {
+		final long start = mx.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < count; i++) {
+			task.run();
+		}
+		return (mx.getCurrentThreadAllocatedBytes() - start) / count;
+	}
+
+	private static List<Map<String, Object>> grid(final int rows) {
+		final List<Map<String, Object>> list = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			final Map<String, Object> row = new LinkedHashMap<>();
+			row.put("id", i);
+			row.put("name", "row name " + i);
+			row.put("value", i * 1.5);
+			list.add(row);
+		}
+		return list;
+	}
+
+	@FunctionalInterface
+	private interface Task {
+		void run() throws Exception;
+	}
+
+}
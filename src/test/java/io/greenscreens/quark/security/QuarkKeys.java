@@ -0,0 +1,20 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.security;
+
+import java.io.IOException;
+
+import io.greenscreens.quark.security.override.AesKeys;
+
+/**
+ * Test access to Quark stream key without key exchange
+ */
+public enum QuarkKeys {
+	;
+
+	public static IQuarkKey of(final byte[] secretKey) throws IOException {
+		return QuarkKey.create(AesKeys.of(secretKey));
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.security.override;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+class AesCryptTest {
+
+	private static final int CHUNK = 8 * 1024;
+
+	private static final int[] LENGTHS = { 0, 1, 15, 16, 17, CHUNK - 1, CHUNK, CHUNK + 1, 3 * CHUNK + 7 };
+
+	@Test
+	void inPlaceMatchesArrayCipher() throws IOException {
+
+		final Random random = new Random(7);
+		final IAesKey key = AesKeys.of(bytes(random, 32));
+		final byte[] iv = bytes(random, 16);
+
+		for (int length : LENGTHS) {
+			final byte[] plain = bytes(random, length);
+			final byte[] expected = key.encrypt(plain, iv);
+
+			// data region inside larger array, borders must stay untouched
+			final int offset = 13;
+			final byte[] frame = bytes(random, offset + length + 11);
+			final byte[] original = frame.clone();
+			System.arraycopy(plain, 0, frame, offset, length);
+
+			key.encrypt(frame, offset, length, iv);
+			assertArrayEquals(expected, Arrays.copyOfRange(frame, offset, offset + length), "length " + length);
+			assertArrayEquals(Arrays.copyOf(original, offset), Arrays.copyOf(frame, offset));
+			assertArrayEquals(Arrays.copyOfRange(original, offset + length, original.length), Arrays.copyOfRange(frame, offset + length, frame.length));
+
+			key.decrypt(frame, offset, length, iv);
+			assertArrayEquals(plain, Arrays.copyOfRange(frame, offset, offset + length), "length " + length);
+		}
+	}
+
+	@Test
+	void sharedKeyIsThreadSafe() throws Exception {
+
+		final Random random = new Random(11);
+		final IAesKey key = AesKeys.of(bytes(random, 32));
+		final byte[] iv = bytes(random, 16);
+		final byte[] plain = bytes(random, 3 * CHUNK + 7);
+		final byte[] expected = key.encrypt(plain, iv);
+
+		final ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+		final List<Thread> threads = new ArrayList<>();
+
+		for (int t = 0; t < 8; t++) {
+			threads.add(Thread.ofPlatform().start(() -> {
+				try {
+					for (int i = 0; i < 200; i++) {
+						final byte[] data = plain.clone();
+						key.encrypt(data, 0, data.length, iv);
+						if (!Arrays.equals(expected, data)) errors.add("encrypt mismatch");
+					}
+				} catch (IOException e) {
+					errors.add(e.getMessage());
+				}
+			}));
+		}
+
+		for (Thread thread : threads) thread.join();
+
+		assertTrue(errors.isEmpty(), () -> String.join(", ", errors));
+	}
+
+	private static byte[] bytes(final Random random, final int size) {
+		final byte[] data = new byte[size];
+		random.nextBytes(data);
+		return data;
+	}
+
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.security.override;
+
+import java.io.IOException;
+
+/**
+ * Test access to AES key without key exchange
+ */
+public enum AesKeys {
+	;
+
+	public static IAesKey of(final byte[] secretKey) throws IOException {
+		return new AesCrypt(secretKey);
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+class QuarkBufferPoolTest {
+
+	@Test
+	void sizeClasses() {
+		assertEquals(QuarkBufferPool.MIN_SIZE, QuarkBufferPool.acquire(1).length);
+		assertEquals(QuarkBufferPool.MIN_SIZE, QuarkBufferPool.acquire(QuarkBufferPool.MIN_SIZE).length);
+		assertEquals(2 * QuarkBufferPool.MIN_SIZE, QuarkBufferPool.acquire(QuarkBufferPool.MIN_SIZE + 1).length);
+		assertEquals(QuarkBufferPool.MAX_SIZE, QuarkBufferPool.acquire(QuarkBufferPool.MAX_SIZE).length);
+		// too large, not pooled, exact size
+		assertEquals(QuarkBufferPool.MAX_SIZE + 1, QuarkBufferPool.acquire(QuarkBufferPool.MAX_SIZE + 1).length);
+	}
+
+	@Test
+	void releasedArrayIsReused() {
+		// thread local class and shared class
+		for (int size : new int[] { 4096, 128 * 1024 }) {
+			final byte[] first = QuarkBufferPool.acquire(size);
+			QuarkBufferPool.release(first);
+			final byte[] second = QuarkBufferPool.acquire(size);
+			assertSame(first, second);
+			QuarkBufferPool.release(second);
+		}
+	}
+
+	@Test
+	void foreignArrayIsIgnored() {
+		final byte[] foreign = new byte[8192];
+		QuarkBufferPool.release(foreign);
+		final byte[] pooled = QuarkBufferPool.acquire(8192);
+		assertNotSame(foreign, pooled);
+		QuarkBufferPool.release(pooled);
+	}
+
+	@Test
+	void concurrentUseNeverSharesArray() throws InterruptedException {
+
+		final Set<byte[]> held = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+		final ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+		final List<Thread> threads = new ArrayList<>();
+
+		for (int t = 0; t < 16; t++) {
+			final byte mark = (byte) t;
+			final Thread.Builder builder = t % 2 == 0 ? Thread.ofPlatform() : Thread.ofVirtual();
+			threads.add(builder.start(() -> {
+				for (int i = 0; i < 5_000; i++) {
+					final int size = 512 << (i % 9);
+					final byte[] buffer = QuarkBufferPool.acquire(size);
+					if (!held.add(buffer)) errors.add("shared array " + buffer.length);
+					buffer[0] = mark;
+					buffer[size - 1] = mark;
+					Thread.yield();
+					if (buffer[0] != mark || buffer[size - 1] != mark) errors.add("overwritten array " + buffer.length);
+					held.remove(buffer);
+					QuarkBufferPool.release(buffer);
+				}
+			}));
+		}
+
+		for (Thread thread : threads) thread.join();
+
+		assertTrue(errors.isEmpty(), () -> String.join(", ", errors));
+	}
+
+}
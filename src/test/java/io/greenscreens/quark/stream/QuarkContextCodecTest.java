@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.junit.jupiter.api.Test;
+
+class QuarkContextCodecTest {
+
+	private static final byte[] TAIL = { 0, 0, (byte) 0xFF, (byte) 0xFF };
+
+	@Test
+	void framesRoundTripInOrder() throws Exception {
+
+		final IQuarkCodec server = session();
+		final IQuarkCodec client = session();
+
+		try {
+			final Random random = new Random(5);
+			// sizes around pooled chunk, so flush tail may span two deflate calls
+			for (int size = 8_170; size < 8_210; size++) {
+				final byte[] data = new byte[size];
+				random.nextBytes(data);
+				assertArrayEquals(data, decompress(client, compress(server, data)), "size " + size);
+			}
+			// adaptive policy may change level between frames
+			final int[] levels = { Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION, Deflater.BEST_COMPRESSION, 5 };
+			for (int i = 0; i < 50; i++) {
+				final byte[] data = json(i);
+				assertArrayEquals(data, decompress(client, compress(server, data, levels[i % levels.length])));
+			}
+			// consecutive flush without input
+			assertArrayEquals(new byte[0], decompress(client, compress(server, new byte[0])));
+			assertArrayEquals(new byte[0], decompress(client, compress(server, new byte[0])));
+			assertArrayEquals(json(7), decompress(client, compress(server, json(7))));
+		} finally {
+			server.release();
+			client.release();
+		}
+	}
+
+	@Test
+	void frameIsLengthPrefixedWithoutFlushTail() throws Exception {
+
+		final IQuarkCodec server = session();
+		final Inflater inflater = new Inflater(true);
+
+		try {
+			for (int i = 0; i < 10; i++) {
+				final byte[] data = json(i);
+				final byte[] frame = compress(server, data);
+
+				assertEquals(data.length, ByteBuffer.wrap(frame).getInt());
+				assertFalse(Arrays.equals(TAIL, Arrays.copyOfRange(frame, frame.length - 4, frame.length)));
+
+				// plain raw inflater with tail appended, as in RFC 7692
+				final byte[] payload = Arrays.copyOfRange(frame, 4, frame.length + 4);
+				System.arraycopy(TAIL, 0, payload, payload.length - 4, 4);
+				inflater.setInput(payload);
+				final byte[] out = new byte[data.length];
+				int len = 0;
+				while (len < out.length) len += inflater.inflate(out, len, out.length - len);
+				assertArrayEquals(data, out);
+			}
+		} finally {
+			server.release();
+			inflater.end();
+		}
+	}
+
+	@Test
+	void laterFramesReferenceContext() throws Exception {
+		final IQuarkCodec server = session();
+		try {
+			final byte[] data = json(1);
+			final int first = compress(server, data).length;
+			final int second = compress(server, data).length;
+			assertTrue(second * 4 < first, first + " / " + second);
+		} finally {
+			server.release();
+		}
+	}
+
+	@Test
+	void lengthMismatchIsRejected() throws Exception {
+
+		final IQuarkCodec server = session();
+		final IQuarkCodec client = session();
+
+		try {
+			final byte[] frame = compress(server, json(1));
+			ByteBuffer.wrap(frame).putInt(7);
+			assertThrows(IOException.class, () -> decompress(client, frame));
+		} finally {
+			server.release();
+			client.release();
+		}
+	}
+
+	@Test
+	void prototypeRequiresSession() {
+		final IQuarkCodec prototype = QuarkCodecs.get(QuarkCodecs.CONTEXT);
+		assertTrue(prototype.isStateful());
+		assertThrows(IOException.class, () -> compress(prototype, json(1)));
+	}
+
+	private static IQuarkCodec session() {
+		return QuarkCodecs.get("deflate-context").forSession();
+	}
+
+	private static byte[] compress(final IQuarkCodec codec, final byte[] data) throws IOException {
+		return compress(codec, data, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	private static byte[] compress(final IQuarkCodec codec, final byte[] data, final int level) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codec.compress(data, 0, data.length, out, level);
+		return out.toByteArray();
+	}
+
+	private static byte[] decompress(final IQuarkCodec codec, final byte[] data) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codec.decompress(ByteBuffer.wrap(data), out);
+		return out.toByteArray();
+	}
+
+	private static byte[] json(final int tid) {
+		return ("{\"tid\":" + tid + ",\"type\":\"rpc\",\"result\":{\"success\":true,\"data\":[\"alpha\",\"beta\",\"gamma\"],\"msg\":\"ok\"}}")
+				.repeat(20).getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+class QuarkGzipPrefixTest {
+
+	private static final byte[] PREFIX = "{\"api\":[{\"namespace\":\"io.greenscreens\",\"action\":\"Demo\",\"methods\":[]}],".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void prefixAndSuffixAreOneGzipMember() throws IOException {
+
+		final QuarkGzipPrefix gzip = new QuarkGzipPrefix(PREFIX, Deflater.DEFAULT_COMPRESSION);
+		assertTrue(gzip.size() < PREFIX.length / 10);
+
+		for (int i = 0; i < 5; i++) {
+			final byte[] suffix = ("\"challenge\":\"" + i + "\",\"signature\":\"abc" + i + "\"}").getBytes(StandardCharsets.UTF_8);
+			final ByteBuffer zip = gzip.compress(suffix, 0, suffix.length);
+			assertArrayEquals(concat(PREFIX, suffix), gunzip(QuarkStream.asBytes(zip)));
+		}
+	}
+
+	@Test
+	void suffixRegionAndEmptySuffix() throws IOException {
+
+		final QuarkGzipPrefix gzip = new QuarkGzipPrefix(PREFIX, Deflater.BEST_SPEED);
+		final byte[] frame = "xx{\"tail\":true}yy".getBytes(StandardCharsets.UTF_8);
+
+		final ByteBuffer zip = gzip.compress(frame, 2, frame.length - 4);
+		assertArrayEquals(concat(PREFIX, "{\"tail\":true}".getBytes(StandardCharsets.UTF_8)), gunzip(QuarkStream.asBytes(zip)));
+
+		assertArrayEquals(PREFIX, gunzip(QuarkStream.asBytes(gzip.compress(frame, 0, 0))));
+	}
+
+	@Test
+	void pooledDeflaterWithOtherLevel() throws IOException {
+
+		final Random random = new Random(9);
+		final byte[] noise = new byte[20_000];
+		random.nextBytes(noise);
+
+		// pooled Deflater applies changed level on first deflate call
+		for (int level : new int[] { 1, 9, 1, 6, 9 }) {
+			final QuarkGzipPrefix gzip = new QuarkGzipPrefix(noise, level);
+			final byte[] suffix = "}".getBytes(StandardCharsets.UTF_8);
+			assertArrayEquals(concat(noise, suffix), gunzip(QuarkStream.asBytes(gzip.compress(suffix, 0, 1))), "level " + level);
+		}
+	}
+
+	private static byte[] concat(final byte[] a, final byte[] b) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.writeBytes(a);
+		out.writeBytes(b);
+		return out.toByteArray();
+	}
+
+	private static byte[] gunzip(final byte[] data) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			return in.readAllBytes();
+		}
+	}
+
+}
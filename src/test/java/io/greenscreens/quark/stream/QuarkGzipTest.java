@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Hand written GZIP framing over pooled Deflater / Inflater
+ * against JDK GZIP streams
+ */
+class QuarkGzipTest {
+
+	private static final byte[] DATA = "{\"success\":true,\"data\":[1,2,3],\"msg\":\"ok\"}".repeat(500).getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void compressedIsReadableByJdk() throws IOException {
+		final ByteBuffer zip = QuarkStream.compress(ByteBuffer.wrap(DATA));
+		assertArrayEquals(DATA, gunzip(QuarkStream.asBytes(zip)));
+	}
+
+	@Test
+	void jdkIsReadable() throws IOException {
+		final ByteBuffer raw = QuarkStream.decompress(ByteBuffer.wrap(gzip(DATA)));
+		assertArrayEquals(DATA, QuarkStream.asBytes(raw));
+	}
+
+	@Test
+	void optionalHeaderFieldsAreSkipped() throws IOException {
+
+		final byte[] zip = gzip(DATA);
+		final byte[] name = "data.json\0".getBytes(StandardCharsets.US_ASCII);
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(zip, 0, 10);
+		out.write(name);
+		out.write(zip, 10, zip.length - 10);
+
+		final byte[] named = out.toByteArray();
+		named[3] = 8; // FNAME
+
+		final String text = QuarkStream.decompressAsString(new ByteArrayInputStream(named));
+		assertEquals(new String(DATA, StandardCharsets.UTF_8), text);
+	}
+
+	@Test
+	void corruptTrailerIsRejected() throws IOException {
+		final byte[] zip = gzip(DATA);
+		zip[zip.length - 8] ^= 1;
+		assertThrows(IOException.class, () -> QuarkStream.decompress(ByteBuffer.wrap(zip)));
+	}
+
+	@Test
+	void syncFlushedFramesAreReadable() throws IOException {
+
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+		try (OutputStream out = QuarkStream.gzip(target, true)) {
+			for (int i = 0; i < 20; i++) {
+				final byte[] line = ("{\"tid\":" + i + "}\n").getBytes(StandardCharsets.UTF_8);
+				out.write(line);
+				out.flush();
+				expected.write(line);
+			}
+		}
+
+		assertArrayEquals(expected.toByteArray(), gunzip(target.toByteArray()));
+	}
+
+	private static byte[] gzip(final byte[] data) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+			zip.write(data);
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] gunzip(final byte[] data) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			return in.readAllBytes();
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2015, 2026. Green Screens Ltd.
+ */
+package io.greenscreens.quark.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QuarkLZ4CodecTest {
+
+	private final IQuarkCodec codec = QuarkCodecs.get(QuarkCodecs.LZ4);
+
+	@Test
+	void negotiatedByName() {
+		assertSame(codec, QuarkCodecs.get("lz4"));
+	}
+
+	@Test
+	void roundTrip() throws IOException {
+
+		final Random random = new Random(3);
+		final byte[] noise = new byte[70_000];
+		random.nextBytes(noise);
+
+		final byte[] run = new byte[5_000];
+		Arrays.fill(run, (byte) 'a');
+
+		final byte[][] samples = {
+				new byte[0],
+				bytes("abc"),
+				bytes("{\"success\":true}"),
+				run,
+				noise,
+				bytes("{\"tid\":1,\"type\":\"rpc\",\"result\":{\"data\":[1,2,3]}}".repeat(2_000)),
+				// literals longer than 15 and 270 followed by a long match
+				concat(Arrays.copyOf(noise, 300), run)
+		};
+
+		for (byte[] sample : samples) {
+			assertArrayEquals(sample, decompress(compress(sample, 0, sample.length)), "length " + sample.length);
+		}
+	}
+
+	@Test
+	void compressesRepetitiveData() throws IOException {
+		final byte[] json = bytes("{\"name\":\"value\",\"list\":[1,2,3]},".repeat(1_000));
+		assertTrue(compress(json, 0, json.length).length < json.length / 10);
+	}
+
+	@Test
+	void regionOfLargerArray() throws IOException {
+		// pooled hash table keeps positions of previous input, must not leak into next one
+		final byte[] first = bytes("0123456789".repeat(100));
+		compress(first, 0, first.length);
+
+		final byte[] data = bytes("xxxx" + "abcdefgh".repeat(50) + "yyyy");
+		final byte[] packed = compress(data, 4, data.length - 8);
+		assertArrayEquals(Arrays.copyOfRange(data, 4, data.length - 4), decompress(packed));
+	}
+
+	@Test
+	void decodesReferenceBlock() throws IOException {
+		// "abcd" literal, match offset 4 length 8, "efghi" last literals
+		final byte[] block = { 0, 0, 0, 17, 0x44, 'a', 'b', 'c', 'd', 4, 0, 0x50, 'e', 'f', 'g', 'h', 'i' };
+		assertEquals("abcdabcdabcdefghi", new String(decompress(block), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	void corruptBlockIsRejected() throws IOException {
+
+		final byte[] json = bytes("{\"name\":\"value\"}".repeat(100));
+		final byte[] packed = compress(json, 0, json.length);
+
+		// truncated
+		assertThrows(IOException.class, () -> decompress(Arrays.copyOf(packed, packed.length - 3)));
+
+		// declared length beyond max ratio
+		final byte[] large = packed.clone();
+		ByteBuffer.wrap(large).putInt(Integer.MAX_VALUE);
+		assertThrows(IOException.class, () -> decompress(large));
+
+		// match before start of output
+		final byte[] block = { 0, 0, 0, 12, 0x40, 'a', 'b', 'c', 'd', 9, 0 };
+		assertThrows(IOException.class, () -> decompress(block));
+	}
+
+	private byte[] compress(final byte[] data, final int offset, final int length) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codec.compress(data, offset, length, out, 0);
+		return out.toByteArray();
+	}
+
+	private byte[] decompress(final byte[] data) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codec.decompress(ByteBuffer.wrap(data), out);
+		return out.toByteArray();
+	}
+
+	private static byte[] concat(final byte[] a, final byte[] b) {
+		final byte[] data = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, data, a.length, b.length);
+		return data;
+	}
+
+	private static byte[] bytes(final String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+}